@@ -8,6 +8,7 @@
  */
 package vazkii.psi.api;
 
+import net.minecraft.client.renderer.texture.TextureAtlasSprite;
 import net.minecraft.client.resources.model.Material;
 import net.minecraft.resources.ResourceLocation;
 import net.minecraft.world.inventory.InventoryMenu;
@@ -23,6 +24,7 @@ public class ClientPsiAPI {
 
 	//public static final ResourceLocation PSI_PIECE_TEXTURE_ATLAS = PsiAPI.location("spell_pieces");
 	private static final Map<ResourceLocation, Material> simpleSpellTextures = new ConcurrentHashMap<>();
+	private static final Map<ResourceLocation, TextureAtlasSprite> blockAtlasSprites = new ConcurrentHashMap<>();
 
 	/**
 	 * Register the texture of a piece
@@ -54,4 +56,31 @@ public static Collection<Material> getAllSpellPieceMaterial() {
 		return simpleSpellTextures.values();
 	}
 
+	/**
+	 * Gets the sprite of a piece's texture, looked up in the block atlas once and kept until the atlas is stitched
+	 * again.
+	 */
+	public static TextureAtlasSprite getSpellPieceSprite(ResourceLocation key) {
+		return getBlockAtlasSprite(simpleSpellTextures.get(key).texture());
+	}
+
+	/**
+	 * Gets a sprite of the block atlas, looked up once and kept until the atlas is stitched again.
+	 */
+	public static TextureAtlasSprite getBlockAtlasSprite(ResourceLocation texture) {
+		TextureAtlasSprite sprite = blockAtlasSprites.get(texture);
+		if(sprite == null) {
+			sprite = new Material(InventoryMenu.BLOCK_ATLAS, texture).sprite();
+			blockAtlasSprites.put(texture, sprite);
+		}
+		return sprite;
+	}
+
+	/**
+	 * Forgets the sprites looked up so far. Psi calls this whenever the block atlas is stitched.
+	 */
+	public static void clearSpriteCache() {
+		blockAtlasSprites.clear();
+	}
+
 }
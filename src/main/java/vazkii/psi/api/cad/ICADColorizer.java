@@ -27,6 +27,17 @@ public interface ICADColorizer extends ICADComponent {
 	@OnlyIn(Dist.CLIENT)
 	int getColor(ItemStack stack);
 
+	/**
+	 * Gets the color of this colorizer as a function of the client tick time. This is
+	 * resolved once per colorizer contents and cached, then evaluated every time the color
+	 * is needed, so the work that only depends on the stack should be done here.
+	 * By default the color is looked up with {@link #getColor(ItemStack)} every time.
+	 */
+	@OnlyIn(Dist.CLIENT)
+	default ColorFunction getColorFunction(ItemStack stack) {
+		return time -> getColor(stack);
+	}
+
 	@Override
 	default EnumCADComponent getComponentType(ItemStack stack) {
 		return EnumCADComponent.DYE;
@@ -43,4 +54,13 @@ default EnumCADComponent getComponentType(ItemStack stack) {
 	 * Used for contributor rewards
 	 */
 	void setContributorName(ItemStack stack, String name);
+
+	@FunctionalInterface
+	interface ColorFunction {
+
+		/**
+		 * @param time the client ticks in game, plus the partial tick
+		 */
+		int getColor(float time);
+	}
 }
@@ -0,0 +1,76 @@
+/*
+ * This class is distributed as part of the Psi Mod.
+ * Get the Source Code in github:
+ * https://github.com/Vazkii/Psi
+ *
+ * Psi is Open Source and distributed under the
+ * Psi License: https://psi.vazkii.net/license.php
+ */
+package vazkii.psi.api.exosuit;
+
+import org.jetbrains.annotations.Nullable;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * An Enum defining all the triggers a {@link PsiArmorEvent} can be fired for.
+ */
+public enum EnumArmorEvent {
+
+	/**
+	 * Never fired, used by armor that doesn't react to anything.
+	 */
+	NONE("none"),
+	DAMAGE("damage"),
+	TICK("tick"),
+	JUMP("jump"),
+	LOW_LIGHT("low_light"),
+	UNDERWATER("underwater"),
+	ON_FIRE("on_fire"),
+	LOW_HP("low_hp"),
+	DETONATE("spell_detonate");
+
+	/**
+	 * A mask with every trigger set, for armor that can't tell which ones it listens to.
+	 */
+	public static final int ALL = ((1 << values().length) - 1) & ~(1 << NONE.ordinal());
+
+	private static final Map<String, EnumArmorEvent> BY_NAME = new HashMap<>();
+
+	static {
+		for(EnumArmorEvent event : values()) {
+			BY_NAME.put(event.name, event);
+		}
+	}
+
+	private final String name;
+
+	EnumArmorEvent(String name) {
+		this.name = "psi.event." + name;
+	}
+
+	public String getName() {
+		return name;
+	}
+
+	/**
+	 * @return the trigger with the given {@link #getName() name}, or null for triggers other mods define
+	 */
+	@Nullable
+	public static EnumArmorEvent byName(String name) {
+		return BY_NAME.get(name);
+	}
+
+	/**
+	 * @return the bit for this trigger in an armed triggers mask, see {@link IPsiEventArmor#getArmedTriggers}
+	 */
+	public int mask() {
+		return this == NONE ? 0 : 1 << ordinal();
+	}
+
+	public boolean isIn(int mask) {
+		return (mask & mask()) != 0;
+	}
+
+}
@@ -12,12 +12,29 @@
 import net.neoforged.api.distmarker.Dist;
 import net.neoforged.api.distmarker.OnlyIn;
 
+import org.jetbrains.annotations.Nullable;
+
 /**
  * An Item that implements this counts as a Sensor, and can be put on an Exosuit helmet.
  */
 public interface IExosuitSensor {
 
-	String getEventType(ItemStack stack);
+	/**
+	 * Gets the trigger the helmet this sensor is attached to casts on, or null for a trigger defined by another
+	 * mod, whose name {@link #getEventType} then returns. Implement either this or {@link #getEventType}.
+	 */
+	@Nullable
+	default EnumArmorEvent getTrigger(ItemStack stack) {
+		return EnumArmorEvent.byName(getEventType(stack));
+	}
+
+	/**
+	 * @deprecated Implement {@link #getTrigger} instead, unless the trigger is defined by another mod.
+	 */
+	@Deprecated
+	default String getEventType(ItemStack stack) {
+		return getTrigger(stack).getName();
+	}
 
 	@OnlyIn(Dist.CLIENT)
 	int getColor(ItemStack stack);
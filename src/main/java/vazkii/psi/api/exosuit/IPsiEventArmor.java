@@ -17,4 +17,12 @@ public interface IPsiEventArmor {
 
 	void onEvent(ItemStack stack, PsiArmorEvent event);
 
+	/**
+	 * Returns the triggers this piece reacts to, as a mask of {@link EnumArmorEvent#mask()} bits. Events of
+	 * other types aren't fired for players that only wear pieces ignoring them.
+	 */
+	default int getArmedTriggers(ItemStack stack) {
+		return EnumArmorEvent.ALL;
+	}
+
 }
@@ -13,38 +13,80 @@
 import net.neoforged.neoforge.common.NeoForge;
 import net.neoforged.neoforge.event.entity.player.PlayerEvent;
 
+import org.jetbrains.annotations.Nullable;
+
 public class PsiArmorEvent extends PlayerEvent {
 
 	// DO NOT FIRE AN EVENT WITH THIS
+	@Deprecated
 	public static final String NONE = "psi.event.none";
 
+	@Deprecated
 	public static final String DAMAGE = "psi.event.damage";
+	@Deprecated
 	public static final String TICK = "psi.event.tick";
+	@Deprecated
 	public static final String JUMP = "psi.event.jump";
 
+	@Deprecated
 	public static final String LOW_LIGHT = "psi.event.low_light";
+	@Deprecated
 	public static final String UNDERWATER = "psi.event.underwater";
+	@Deprecated
 	public static final String ON_FIRE = "psi.event.on_fire";
+	@Deprecated
 	public static final String LOW_HP = "psi.event.low_hp";
+	@Deprecated
 	public static final String DETONATE = "psi.event.spell_detonate";
 
 	private static boolean posting = false;
 
+	/**
+	 * The trigger of this event, or null if it is a trigger defined by another mod, which only has a {@link #type}.
+	 */
+	@Nullable
+	public final EnumArmorEvent trigger;
+	/**
+	 * The name of the trigger of this event, see {@link EnumArmorEvent#getName()}.
+	 */
 	public final String type;
 	public final double damage;
 	public final LivingEntity attacker;
 
+	public PsiArmorEvent(Player player, EnumArmorEvent trigger) {
+		this(player, trigger, 0, null);
+	}
+
+	public PsiArmorEvent(Player player, EnumArmorEvent trigger, double damage, LivingEntity attacker) {
+		this(player, trigger, trigger.getName(), damage, attacker);
+	}
+
+	/**
+	 * @deprecated Use {@link #PsiArmorEvent(Player, EnumArmorEvent)}, or keep using this for triggers defined by
+	 *             another mod.
+	 */
+	@Deprecated
 	public PsiArmorEvent(Player player, String type) {
 		this(player, type, 0, null);
 	}
 
+	/**
+	 * @deprecated Use {@link #PsiArmorEvent(Player, EnumArmorEvent, double, LivingEntity)}, or keep using this
+	 *             for triggers defined by another mod.
+	 */
+	@Deprecated
 	public PsiArmorEvent(Player player, String type, double damage, LivingEntity attacker) {
+		this(player, EnumArmorEvent.byName(type), type, damage, attacker);
+	}
+
+	private PsiArmorEvent(Player player, @Nullable EnumArmorEvent trigger, String type, double damage, LivingEntity attacker) {
 		super(player);
+		this.trigger = trigger;
 		this.type = type;
 		this.damage = damage;
 		this.attacker = attacker;
 
-		if(type.equals(NONE)) {
+		if(trigger == EnumArmorEvent.NONE) {
 			throw new IllegalArgumentException("Can't you read?");
 		}
 	}
@@ -33,37 +33,83 @@ public static LinkedHashSet<BlockPos> getBlocksAlongRay(Vec3 origin, Vec3 end) {
 	 */
 	public static LinkedHashSet<BlockPos> getBlocksAlongRay(Vec3 origin, Vec3 end, int maxBlocks) {
 		LinkedHashSet<BlockPos> positions = new LinkedHashSet<>();
-		if(maxBlocks == 0) {
-			return positions;
+		BlockRayCursor ray = traceBlocksAlongRay(origin, end, maxBlocks);
+		while(ray.next()) {
+			positions.add(ray.pos().immutable());
 		}
-		if(origin.equals(end)) {
-			positions.add(new BlockPos((int) origin.x, (int) origin.y, (int) origin.z));
-		} else {
-			double endX = end.x;
-			double endY = end.y;
-			double endZ = end.z;
+		return positions;
+	}
+
+	/**
+	 * Streaming version of {@link #getBlocksAlongRay(Vec3, Vec3, int)}, visiting the same positions in the same
+	 * order without collecting them. Callers can stop at any point, e.g. when a trick errors out halfway.
+	 */
+	public static BlockRayCursor traceBlocksAlongRay(Vec3 origin, Vec3 end, int maxBlocks) {
+		return new BlockRayCursor(origin, end, maxBlocks);
+	}
+
+	/**
+	 * Voxel traversal cursor over the blocks along a ray. {@link #pos()} is a single mutable position that
+	 * is moved by every call to {@link #next()}, so it must be copied with {@link BlockPos#immutable()}
+	 * (or packed with {@link BlockPos#asLong()}) if it needs to outlive the current step.
+	 */
+	public static final class BlockRayCursor {
+
+		private final BlockPos.MutableBlockPos pos = new BlockPos.MutableBlockPos();
+		private final int maxBlocks;
+		private final boolean singleBlock;
+		private int count;
+
+		private int blockX, blockY, blockZ;
+		private int signumX, signumY, signumZ;
+		private double stepSizeX, stepSizeY, stepSizeZ;
+		private double totalStepsX, totalStepsY, totalStepsZ;
+
+		private BlockRayCursor(Vec3 origin, Vec3 end, int maxBlocks) {
+			this.maxBlocks = maxBlocks;
+			this.singleBlock = origin.equals(end);
+			if(singleBlock) {
+				blockX = (int) origin.x;
+				blockY = (int) origin.y;
+				blockZ = (int) origin.z;
+				return;
+			}
+
 			double originX = origin.x;
 			double originY = origin.y;
 			double originZ = origin.z;
-			int blockX = net.minecraft.util.Mth.floor(originX);
-			int blockY = net.minecraft.util.Mth.floor(originY);
-			int blockZ = net.minecraft.util.Mth.floor(originZ);
-			BlockPos.MutableBlockPos blockPos = new BlockPos.MutableBlockPos(blockX, blockY, blockZ);
-			positions.add(blockPos.immutable());
-			double lengthX = endX - originX;
-			double lengthY = endY - originY;
-			double lengthZ = endZ - originZ;
-			int signumX = net.minecraft.util.Mth.sign(lengthX);
-			int signumY = net.minecraft.util.Mth.sign(lengthY);
-			int signumZ = net.minecraft.util.Mth.sign(lengthZ);
-			double stepSizeX = signumX == 0 ? Double.MAX_VALUE : (double) signumX / lengthX;
-			double stepSizeY = signumY == 0 ? Double.MAX_VALUE : (double) signumY / lengthY;
-			double stepSizeZ = signumZ == 0 ? Double.MAX_VALUE : (double) signumZ / lengthZ;
-			double totalStepsX = stepSizeX * (signumX > 0 ? 1.0D - net.minecraft.util.Mth.frac(originX) : net.minecraft.util.Mth.frac(originX));
-			double totalStepsY = stepSizeY * (signumY > 0 ? 1.0D - net.minecraft.util.Mth.frac(originY) : net.minecraft.util.Mth.frac(originY));
-			double totalStepsZ = stepSizeZ * (signumZ > 0 ? 1.0D - net.minecraft.util.Mth.frac(originZ) : net.minecraft.util.Mth.frac(originZ));
-
-			while((totalStepsX <= 1.0D || totalStepsY <= 1.0D || totalStepsZ <= 1.0D) && positions.size() != maxBlocks) {
+			blockX = net.minecraft.util.Mth.floor(originX);
+			blockY = net.minecraft.util.Mth.floor(originY);
+			blockZ = net.minecraft.util.Mth.floor(originZ);
+			double lengthX = end.x - originX;
+			double lengthY = end.y - originY;
+			double lengthZ = end.z - originZ;
+			signumX = net.minecraft.util.Mth.sign(lengthX);
+			signumY = net.minecraft.util.Mth.sign(lengthY);
+			signumZ = net.minecraft.util.Mth.sign(lengthZ);
+			stepSizeX = signumX == 0 ? Double.MAX_VALUE : (double) signumX / lengthX;
+			stepSizeY = signumY == 0 ? Double.MAX_VALUE : (double) signumY / lengthY;
+			stepSizeZ = signumZ == 0 ? Double.MAX_VALUE : (double) signumZ / lengthZ;
+			totalStepsX = stepSizeX * (signumX > 0 ? 1.0D - net.minecraft.util.Mth.frac(originX) : net.minecraft.util.Mth.frac(originX));
+			totalStepsY = stepSizeY * (signumY > 0 ? 1.0D - net.minecraft.util.Mth.frac(originY) : net.minecraft.util.Mth.frac(originY));
+			totalStepsZ = stepSizeZ * (signumZ > 0 ? 1.0D - net.minecraft.util.Mth.frac(originZ) : net.minecraft.util.Mth.frac(originZ));
+		}
+
+		/**
+		 * Advances to the next block along the ray.
+		 *
+		 * @return false once the ray has ended or the maximum amount of blocks has been visited
+		 */
+		public boolean next() {
+			if(count == maxBlocks) {
+				return false;
+			}
+
+			if(count > 0) {
+				if(singleBlock || !(totalStepsX <= 1.0D || totalStepsY <= 1.0D || totalStepsZ <= 1.0D)) {
+					return false;
+				}
+
 				if(totalStepsX < totalStepsY) {
 					if(totalStepsX < totalStepsZ) {
 						blockX += signumX;
@@ -79,11 +125,23 @@ public static LinkedHashSet<BlockPos> getBlocksAlongRay(Vec3 origin, Vec3 end, i
 					blockZ += signumZ;
 					totalStepsZ += stepSizeZ;
 				}
-				blockPos.set(blockX, blockY, blockZ);
-				positions.add(blockPos.immutable());
 			}
+
+			pos.set(blockX, blockY, blockZ);
+			count++;
+			return true;
+		}
+
+		public BlockPos.MutableBlockPos pos() {
+			return pos;
+		}
+
+		/**
+		 * @return the amount of blocks visited so far, including the current one
+		 */
+		public int count() {
+			return count;
 		}
-		return positions;
 	}
 
 }
@@ -73,7 +73,6 @@ public boolean execute(SpellContext context) throws SpellRuntimeException {
 	/**
 	 * @see #execute
 	 */
-	@SuppressWarnings("unchecked")
 	public void safeExecute(SpellContext context) {
 		if(context.caster.getCommandSenderWorld().isClientSide) {
 			return;
@@ -81,7 +80,7 @@ public void safeExecute(SpellContext context) {
 
 		try {
 			if(context.actions == null) {
-				context.actions = (Stack<Action>) actions.clone();
+				context.loadActions(actions);
 			}
 
 			if(context.cspell.execute(context)) {
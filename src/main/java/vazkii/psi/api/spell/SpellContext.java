@@ -21,6 +21,8 @@
 import vazkii.psi.api.internal.Vector3;
 import vazkii.psi.api.spell.CompiledSpell.Action;
 
+import java.util.ArrayDeque;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Stack;
@@ -39,11 +41,12 @@ public final class SpellContext {
 	 */
 	public static final double MAX_DISTANCE = 32;
 	/**
-	 * A map for custom data where addon authors can put stuff. If you're going to put
-	 * anything here, prefix it with your mod ID to prevent collision. For example, Trick: Add Motion
-	 * uses psi:Entity1MotionX.
+	 * The maximum amount of idle contexts kept around per thread by {@link #obtain()}.
 	 */
-	public final Map<String, Object> customData = new HashMap<>();
+	public static final int MAX_POOLED_CONTEXTS = 16;
+
+	private static final ThreadLocal<ArrayDeque<SpellContext>> POOL = ThreadLocal.withInitial(ArrayDeque::new);
+
 	// Runtime information, do not mess with =================================================
 	public final Object[][] evaluatedObjects = new Object[SpellGrid.GRID_SIZE][SpellGrid.GRID_SIZE];
 	/**
@@ -89,6 +92,123 @@ public final class SpellContext {
 	public int delay = 0;
 	// End Runtime information ===============================================================
 
+	// Created eagerly rather than lazily since addons read the field directly. A HashMap only allocates its table
+	// on the first put, so a context whose spell stores nothing pays for the empty map object alone, and pooled
+	// contexts keep theirs.
+	/**
+	 * A map for custom data where addon authors can put stuff.
+	 *
+	 * @deprecated Use {@link #getCustomData()}.
+	 */
+	@Deprecated
+	public final Map<String, Object> customData = new HashMap<>();
+	private Stack<Action> spareActions;
+	private boolean retained = false;
+	private boolean pooled = false;
+
+	/**
+	 * Gets a cleared context, reusing one that was previously passed to {@link #release(SpellContext)}
+	 * on this thread if there is one.
+	 */
+	public static SpellContext obtain() {
+		SpellContext context = POOL.get().pollFirst();
+		if(context == null) {
+			return new SpellContext();
+		}
+
+		context.pooled = false;
+		return context;
+	}
+
+	/**
+	 * Hands a context back to the pool of the current thread once its caster is done with it.
+	 * Contexts that are still pending (delayed, or {@link #retain() retained} by something like a
+	 * projectile) are left alone, as are contexts over the pool's capacity.
+	 * <p>
+	 * Only release contexts you created and never handed to code you don't control, such as an
+	 * {@link ISpellAcceptor} from another mod or an event listener, since it may still hold on to them.
+	 */
+	public static void release(SpellContext context) {
+		if(context == null || context.pooled || context.retained || context.delay > 0) {
+			return;
+		}
+
+		ArrayDeque<SpellContext> pool = POOL.get();
+		if(pool.size() < MAX_POOLED_CONTEXTS) {
+			context.reset();
+			context.pooled = true;
+			pool.addFirst(context);
+		}
+	}
+
+	/**
+	 * Clears all runtime information so this context can be used for another cast. The evaluation grid,
+	 * the action stack and the custom data map are kept and emptied rather than reallocated.
+	 */
+	public SpellContext reset() {
+		for(Object[] column : evaluatedObjects) {
+			Arrays.fill(column, null);
+		}
+
+		customData.clear();
+
+		if(actions != null) {
+			actions.clear();
+			spareActions = actions;
+			actions = null;
+		}
+
+		caster = null;
+		focalPoint = null;
+		cspell = null;
+		loopcastIndex = 0;
+		castFrom = null;
+		tool = ItemStack.EMPTY;
+		positionBroken = null;
+		attackedEntity = null;
+		attackingEntity = null;
+		damageTaken = 0;
+		targetSlot = 1;
+		shiftTargetSlot = true;
+		customTargetSlot = false;
+		stopped = false;
+		delay = 0;
+		retained = false;
+		return this;
+	}
+
+	/**
+	 * Marks this context as held past its cast, for example by a projectile that will execute it later,
+	 * so it never gets handed back to the pool. Returns itself.
+	 */
+	public SpellContext retain() {
+		retained = true;
+		return this;
+	}
+
+	/**
+	 * A map for custom data where addon authors can put stuff. If you're going to put
+	 * anything here, prefix it with your mod ID to prevent collision. For example, Trick: Add Motion
+	 * uses psi:Entity1MotionX.
+	 */
+	public Map<String, Object> getCustomData() {
+		return customData;
+	}
+
+	public boolean hasCustomData(String key) {
+		return customData.containsKey(key);
+	}
+
+	/**
+	 * Fills the action stack from the compiled spell, reusing the stack kept by {@link #reset()}.
+	 */
+	void loadActions(Stack<Action> source) {
+		Stack<Action> stack = spareActions == null ? new Stack<>() : spareActions;
+		spareActions = null;
+		stack.addAll(source);
+		actions = stack;
+	}
+
 	/**
 	 * Sets the {@link #caster} and returns itself. This also calls {@link #setFocalPoint(Entity)}.
 	 */
@@ -24,7 +24,7 @@
 import net.minecraft.client.renderer.MultiBufferSource;
 import net.minecraft.client.renderer.RenderStateShard;
 import net.minecraft.client.renderer.RenderType;
-import net.minecraft.client.resources.model.Material;
+import net.minecraft.client.renderer.texture.TextureAtlasSprite;
 import net.minecraft.nbt.CompoundTag;
 import net.minecraft.network.chat.Component;
 import net.minecraft.network.chat.MutableComponent;
@@ -61,6 +61,7 @@ public abstract class SpellPiece {
 	private static final String TAG_PARAMS = "params";
 	private static final String TAG_COMMENT = "comment";
 	private static final String PSI_PREFIX = "psi.spellparam.";
+	private static final int SIDE_COUNT = SpellParam.Side.values().length;
 	@OnlyIn(Dist.CLIENT)
 	private static RenderType layer;
 	public final ResourceLocation registryKey;
@@ -367,30 +368,41 @@ public void draw(PoseStack pPoseStack, MultiBufferSource buffers, int light) {
 		pPoseStack.popPose();
 	}
 
+	/**
+	 * Hashes everything {@link #draw} depends on that belongs to this piece, neighbours aside. Baked grid
+	 * meshes are drawn again in full whenever the spell is edited in the programmer, and compare this every
+	 * frame to catch changes made any other way, such as by another player. Pieces that draw extra state of
+	 * their own should mix it in.
+	 */
+	@OnlyIn(Dist.CLIENT)
+	public int getDrawStateHash() {
+		int hash = registryKey.hashCode();
+		hash = 31 * hash + Objects.hashCode(comment);
+		hash = 31 * hash + (isInGrid ? 1 : 0);
+		for(SpellParam.Side side : paramSides.values()) {
+			hash = 31 * hash + side.ordinal();
+		}
+		return hash;
+	}
+
 	/**
 	 * Draws this piece's background.
 	 */
 	@OnlyIn(Dist.CLIENT)
 	public void drawBackground(PoseStack pPoseStack, MultiBufferSource buffers, int light) {
-		Material material = ClientPsiAPI.getSpellPieceMaterial(registryKey);
-		VertexConsumer buffer = material.buffer(buffers, ignored -> getLayer());
+		// Every piece texture is in the block atlas, so all backgrounds go into the same buffer
+		TextureAtlasSprite sprite = ClientPsiAPI.getSpellPieceSprite(registryKey);
+		VertexConsumer buffer = buffers.getBuffer(getLayer());
+		float minU = sprite.getU0();
+		float minV = sprite.getV0();
+		float maxU = sprite.getU1();
+		float maxV = sprite.getV1();
 		Matrix4f mat = pPoseStack.last().pose();
-		// Cannot call .texture() on the chained object because SpriteAwareVertexBuilder is buggy
-		// and does not return itself, it returns the inner buffer
-		// This leads to .texture() using the implementation of the inner buffer,
-		// not of the SpriteAwareVertexBuilder, which is not what we want.
-		// Split the chain apart so that .texture() is called on the original buffer
-		buffer.addVertex(mat, 0, 16, 0).setColor(1F, 1F, 1F, 1F);
-		buffer.setUv(0, 1).setLight(light);
 
-		buffer.addVertex(mat, 16, 16, 0).setColor(1F, 1F, 1F, 1F);
-		buffer.setUv(1, 1).setLight(light);
-
-		buffer.addVertex(mat, 16, 0, 0).setColor(1F, 1F, 1F, 1F);
-		buffer.setUv(1, 0).setLight(light);
-
-		buffer.addVertex(mat, 0, 0, 0).setColor(1F, 1F, 1F, 1F);
-		buffer.setUv(0, 0).setLight(light);
+		buffer.addVertex(mat, 0, 16, 0).setColor(1F, 1F, 1F, 1F).setUv(minU, maxV).setLight(light);
+		buffer.addVertex(mat, 16, 16, 0).setColor(1F, 1F, 1F, 1F).setUv(maxU, maxV).setLight(light);
+		buffer.addVertex(mat, 16, 0, 0).setColor(1F, 1F, 1F, 1F).setUv(maxU, minV).setLight(light);
+		buffer.addVertex(mat, 0, 0, 0).setColor(1F, 1F, 1F, 1F).setUv(minU, minV).setLight(light);
 	}
 
 	/**
@@ -425,16 +437,36 @@ public void drawComment(PoseStack pPoseStack, MultiBufferSource buffers, int lig
 	}
 
 	/**
-	 * Draws the parameters coming into this piece.
+	 * Draws the parameters coming into this piece. The arrows on each side are counted in one pass, then each
+	 * one is drawn through {@link #drawParam(PoseStack, VertexConsumer, int, SpellParam, int, int)}.
 	 */
 	@OnlyIn(Dist.CLIENT)
 	public void drawParams(PoseStack pPoseStack, MultiBufferSource buffers, int light) {
 		VertexConsumer buffer = buffers.getBuffer(PsiAPI.internalHandler.getProgrammerLayer());
-		for(SpellParam<?> param : paramSides.keySet()) {
-			drawParam(pPoseStack, buffer, light, param);
+		int[] counts = new int[SIDE_COUNT];
+		for(Map.Entry<SpellParam<?>, SpellParam.Side> entry : paramSides.entrySet()) {
+			if(entry.getKey().getArrowType() != ArrowType.NONE) {
+				counts[entry.getValue().ordinal()]++;
+			}
+		}
+
+		int[] indices = new int[SIDE_COUNT];
+		for(Map.Entry<SpellParam<?>, SpellParam.Side> entry : paramSides.entrySet()) {
+			SpellParam<?> param = entry.getKey();
+			SpellParam.Side side = entry.getValue();
+			if(!side.isEnabled() || param.getArrowType() == ArrowType.NONE) {
+				continue;
+			}
+
+			drawParam(pPoseStack, buffer, light, param, indices[side.ordinal()]++, counts[side.ordinal()]);
 		}
 	}
 
+	/**
+	 * Draws a single parameter's arrow, counting the arrows on its side first. {@link #drawParams} doesn't go
+	 * through this, so pieces that customise their arrows should override
+	 * {@link #drawParam(PoseStack, VertexConsumer, int, SpellParam, int, int)} instead.
+	 */
 	@OnlyIn(Dist.CLIENT)
 	public void drawParam(PoseStack pPoseStack, VertexConsumer buffer, int light, SpellParam<?> param) {
 		SpellParam.Side side = paramSides.get(param);
@@ -442,8 +474,17 @@ public void drawParam(PoseStack pPoseStack, VertexConsumer buffer, int light, Sp
 			return;
 		}
 
-		int index = getParamArrowIndex(param);
-		int count = getParamArrowCount(side);
+		drawParam(pPoseStack, buffer, light, param, getParamArrowIndex(param), getParamArrowCount(side));
+	}
+
+	/**
+	 * Draws a parameter's arrow given its index among the arrows on its side of this piece and how many there
+	 * are. The arrows of the neighbour on that side are accounted for here. This is the method to override to
+	 * customise how arrows are drawn.
+	 */
+	@OnlyIn(Dist.CLIENT)
+	protected void drawParam(PoseStack pPoseStack, VertexConsumer buffer, int light, SpellParam<?> param, int index, int count) {
+		SpellParam.Side side = paramSides.get(param);
 		SpellPiece neighbour = spell.grid.getPieceAtSideSafely(x, y, side);
 		if(neighbour != null) {
 			int nbcount = neighbour.getParamArrowCount(side.getOpposite());
@@ -495,8 +536,8 @@ public void drawParam(PoseStack pPoseStack, VertexConsumer buffer, int light, Sp
 	@OnlyIn(Dist.CLIENT)
 	public int getParamArrowCount(SpellParam.Side side) {
 		int count = 0;
-		for(SpellParam<?> p : paramSides.keySet()) {
-			if(p.getArrowType() != ArrowType.NONE && paramSides.get(p) == side) {
+		for(Map.Entry<SpellParam<?>, SpellParam.Side> entry : paramSides.entrySet()) {
+			if(entry.getValue() == side && entry.getKey().getArrowType() != ArrowType.NONE) {
 				count++;
 			}
 		}
@@ -507,11 +548,11 @@ public int getParamArrowCount(SpellParam.Side side) {
 	public int getParamArrowIndex(SpellParam<?> param) {
 		SpellParam.Side side = paramSides.get(param);
 		int count = 0;
-		for(SpellParam<?> p : paramSides.keySet()) {
-			if(p == param) {
+		for(Map.Entry<SpellParam<?>, SpellParam.Side> entry : paramSides.entrySet()) {
+			if(entry.getKey() == param) {
 				return count;
 			}
-			if(p.getArrowType() != ArrowType.NONE && paramSides.get(p) == side) {
+			if(entry.getValue() == side && entry.getKey().getArrowType() != ArrowType.NONE) {
 				count++;
 			}
 		}
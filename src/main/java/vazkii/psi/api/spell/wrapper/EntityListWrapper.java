@@ -17,85 +17,147 @@
 /**
  * Wrapper class for an Entity list.
  * Entities are guaranteed to be sorted deterministically; the list is guaranteed to have no null entities.
+ * <p>
+ * The entity ids are kept in a sorted int array next to the entities, so set operations between lists are linear
+ * merges over plain ints.
  */
 public class EntityListWrapper implements Iterable<Entity> {
 
-	public static final EntityListWrapper EMPTY = new EntityListWrapper(Collections.emptyList());
-	private final List<Entity> list;
+	public static final EntityListWrapper EMPTY = new EntityListWrapper(new int[0], new Entity[0], 0);
 
-	private EntityListWrapper(@NotNull List<Entity> list) {
-		this.list = Objects.requireNonNull(list);
+	// Only the first size slots are used, entities[i].getId() == ids[i]
+	private final int[] ids;
+	private final Entity[] entities;
+	private final int size;
+
+	private EntityListWrapper(int[] ids, Entity[] entities, int size) {
+		this.ids = ids;
+		this.entities = entities;
+		this.size = size;
 	}
 
 	/**
 	 * Constructs an EntityListWrapper from an arbitrary list of entities.
 	 */
 	public static EntityListWrapper make(@NotNull List<Entity> list) {
-		List<Entity> copy = new ArrayList<>();
+		Entity[] entities = new Entity[list.size()];
+		int size = 0;
 		for(Entity e : list) {
 			if(e != null) {
-				copy.add(e);
+				entities[size++] = e;
 			}
 		}
-		copy.sort(EntityListWrapper::compareEntities);
-		return new EntityListWrapper(copy);
+		Arrays.sort(entities, 0, size, EntityListWrapper::compareEntities);
+
+		int[] ids = new int[size];
+		for(int i = 0; i < size; i++) {
+			ids[i] = entities[i].getId();
+		}
+		return size == 0 ? EMPTY : new EntityListWrapper(ids, entities, size);
 	}
 
 	public static EntityListWrapper union(@NotNull EntityListWrapper left, @NotNull EntityListWrapper right) {
-		List<Entity> l1 = left.list, l2 = right.list;
-		List<Entity> entities = new ArrayList<>(l1.size() + l2.size());
-		int i = 0, j = 0;
-		while(i < l1.size() && j < l2.size()) {
-			int cmp = compareEntities(l1.get(i), l2.get(j));
-			if(cmp == 0) {
-				i++;
-				continue;
-			}
-			entities.add(cmp < 0 ? l1.get(i++) : l2.get(j++));
+		if(left.size == 0) {
+			return right;
+		}
+		if(right.size == 0) {
+			return left;
 		}
-		entities.addAll(l1.subList(i, l1.size()));
-		entities.addAll(l2.subList(j, l2.size()));
-		return new EntityListWrapper(entities);
-	}
 
-	public static EntityListWrapper exclusion(@NotNull EntityListWrapper list, @NotNull EntityListWrapper remove) {
-		List<Entity> result = new ArrayList<>();
-		List<Entity> search = remove.list;
-		for(Entity e : list) {
-			if(Collections.binarySearch(search, e, EntityListWrapper::compareEntities) < 0) {
-				result.add(e);
+		int[] ids = new int[left.size + right.size];
+		Entity[] entities = new Entity[ids.length];
+		int i = 0, j = 0, k = 0;
+		while(i < left.size && j < right.size) {
+			int l = left.ids[i], r = right.ids[j];
+			if(l <= r) {
+				ids[k] = l;
+				entities[k++] = left.entities[i++];
+				if(l == r) {
+					j++;
+				}
+			} else {
+				ids[k] = r;
+				entities[k++] = right.entities[j++];
 			}
 		}
+		for(; i < left.size; i++, k++) {
+			ids[k] = left.ids[i];
+			entities[k] = left.entities[i];
+		}
+		for(; j < right.size; j++, k++) {
+			ids[k] = right.ids[j];
+			entities[k] = right.entities[j];
+		}
+		return new EntityListWrapper(ids, entities, k);
+	}
 
-		return new EntityListWrapper(result);
+	public static EntityListWrapper exclusion(@NotNull EntityListWrapper list, @NotNull EntityListWrapper remove) {
+		return filter(list, remove, false);
 	}
 
 	public static EntityListWrapper intersection(@NotNull EntityListWrapper left, @NotNull EntityListWrapper right) {
-		List<Entity> result = new ArrayList<>();
-		List<Entity> search = right.list;
-		for(Entity e : left) {
-			if(Collections.binarySearch(search, e, EntityListWrapper::compareEntities) >= 0) {
-				result.add(e);
-			}
+		return filter(left, right, true);
+	}
+
+	/**
+	 * Keeps the entities of the list whose presence in the other list matches keepPresent.
+	 */
+	private static EntityListWrapper filter(EntityListWrapper list, EntityListWrapper other, boolean keepPresent) {
+		if(other.size == 0) {
+			return keepPresent ? EMPTY : list;
 		}
 
-		return new EntityListWrapper(result);
+		int[] ids = new int[list.size];
+		Entity[] entities = new Entity[list.size];
+		int j = 0, k = 0;
+		for(int i = 0; i < list.size; i++) {
+			int id = list.ids[i];
+			while(j < other.size && other.ids[j] < id) {
+				j++;
+			}
+			if((j < other.size && other.ids[j] == id) == keepPresent) {
+				ids[k] = id;
+				entities[k++] = list.entities[i];
+			}
+		}
+		return k == list.size ? list : new EntityListWrapper(ids, entities, k);
 	}
 
-	//TODO this can probably be implemented lazily with a wrapper-list but w/e
 	public static EntityListWrapper withAdded(@NotNull EntityListWrapper base, @NotNull Entity toAdd) {
-		List<Entity> list = new ArrayList<>(base.list);
-		int index = Collections.binarySearch(list, toAdd, EntityListWrapper::compareEntities);
-		if(index < 0) {
-			list.add(~index, toAdd);
+		int index = Arrays.binarySearch(base.ids, 0, base.size, toAdd.getId());
+		if(index >= 0) {
+			return base;
 		}
-		return new EntityListWrapper(list);
+
+		index = ~index;
+		int[] ids = new int[base.size + 1];
+		Entity[] entities = new Entity[ids.length];
+		System.arraycopy(base.ids, 0, ids, 0, index);
+		System.arraycopy(base.entities, 0, entities, 0, index);
+		ids[index] = toAdd.getId();
+		entities[index] = toAdd;
+		System.arraycopy(base.ids, index, ids, index + 1, base.size - index);
+		System.arraycopy(base.entities, index, entities, index + 1, base.size - index);
+		return new EntityListWrapper(ids, entities, ids.length);
 	}
 
 	public static EntityListWrapper withRemoved(@NotNull EntityListWrapper base, @NotNull Entity toRemove) {
-		List<Entity> list = new ArrayList<>(base.list);
-		list.remove(toRemove);
-		return new EntityListWrapper(list);
+		int index = Arrays.binarySearch(base.ids, 0, base.size, toRemove.getId());
+		if(index < 0) {
+			return base;
+		}
+		if(index == base.size - 1) {
+			// The arrays are never written to once built, so dropping the last entity can share them
+			return new EntityListWrapper(base.ids, base.entities, index);
+		}
+
+		int[] ids = new int[base.size - 1];
+		Entity[] entities = new Entity[ids.length];
+		System.arraycopy(base.ids, 0, ids, 0, index);
+		System.arraycopy(base.entities, 0, entities, 0, index);
+		System.arraycopy(base.ids, index + 1, ids, index, ids.length - index);
+		System.arraycopy(base.entities, index + 1, entities, index, ids.length - index);
+		return new EntityListWrapper(ids, entities, ids.length);
 	}
 
 	/**
@@ -105,32 +167,28 @@ public static int compareEntities(Entity l, Entity r) {
 		return Integer.compare(l.getId(), r.getId());
 	}
 
-	/**
-	 * Returns the underlying list for this ELW. Unsafe, as clients are able to modify the list so that it doesn't
-	 * maintain its guarantees.
-	 */
-	@Deprecated
-	private List<Entity> unwrap() {
-		return list;
+	private List<Entity> asList() {
+		return Arrays.asList(entities).subList(0, size);
 	}
 
 	public int size() {
-		return list.size();
+		return size;
 	}
 
 	public Entity get(int index) {
-		return list.get(index);
+		Objects.checkIndex(index, size);
+		return entities[index];
 	}
 
 	@Override
 	public String toString() {
-		return list.toString();
+		return asList().toString();
 	}
 
 	@NotNull
 	@Override
 	public Iterator<Entity> iterator() {
-		return list.iterator();
+		return Collections.unmodifiableList(asList()).iterator();
 	}
 
 }
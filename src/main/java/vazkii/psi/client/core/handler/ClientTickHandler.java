@@ -17,6 +17,7 @@
 import net.neoforged.neoforge.client.event.ClientTickEvent;
 import net.neoforged.neoforge.client.event.RenderFrameEvent;
 
+import vazkii.psi.api.exosuit.EnumArmorEvent;
 import vazkii.psi.api.exosuit.PsiArmorEvent;
 import vazkii.psi.common.lib.LibMisc;
 import vazkii.psi.common.network.MessageRegister;
@@ -58,7 +59,7 @@ public static void clientTick(ClientTickEvent.Pre event) {
 		boolean pressed = mc.options.keyJump.consumeClick();
 
 		if(mc.player != null && pressed && (!lastJumpKeyState && !mc.player.onGround())) {
-			PsiArmorEvent.post(new PsiArmorEvent(mc.player, PsiArmorEvent.JUMP));
+			PsiArmorEvent.post(new PsiArmorEvent(mc.player, EnumArmorEvent.JUMP));
 			MessageRegister.sendToServer(new MessageTriggerJumpSpell());
 		}
 
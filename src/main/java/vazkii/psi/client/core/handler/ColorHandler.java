@@ -40,8 +40,12 @@ public static void init(RegisterColorHandlersEvent.Item event) {
 	}
 
 	public static int slideColor(int[] color, float speed) {
+		return slideColor(color, speed, ClientTickHandler.total);
+	}
+
+	public static int slideColor(int[] color, float speed, float time) {
 		int n = color.length;
-		double t = (ClientTickHandler.total * speed * n / Math.PI) % n;
+		double t = (time * speed * n / Math.PI) % n;
 		int phase = (int) t;
 		double dt = t - phase;
 		if(dt == 0) {
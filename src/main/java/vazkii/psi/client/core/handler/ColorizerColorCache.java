@@ -0,0 +1,56 @@
+/*
+ * This class is distributed as part of the Psi Mod.
+ * Get the Source Code in github:
+ * https://github.com/Vazkii/Psi
+ *
+ * Psi is Open Source and distributed under the
+ * Psi License: https://psi.vazkii.net/license.php
+ */
+package vazkii.psi.client.core.handler;
+
+import it.unimi.dsi.fastutil.objects.Object2ObjectOpenCustomHashMap;
+
+import net.minecraft.world.item.ItemStack;
+import net.minecraft.world.item.ItemStackLinkedSet;
+import net.neoforged.api.distmarker.Dist;
+import net.neoforged.api.distmarker.OnlyIn;
+
+import vazkii.psi.api.cad.ICADColorizer;
+import vazkii.psi.api.cad.ICADColorizer.ColorFunction;
+import vazkii.psi.common.core.handler.ContributorSpellCircleHandler;
+
+/**
+ * Caches the {@link ColorFunction} of every colorizer by item and components, so looking up a spell color every
+ * tick or frame only costs a hash lookup and the colorizer's time function.
+ */
+@OnlyIn(Dist.CLIENT)
+public final class ColorizerColorCache {
+
+	// Only a handful of colorizers are ever around, anything past this is components churning
+	private static final int MAX_ENTRIES = 256;
+
+	private static final Object2ObjectOpenCustomHashMap<ItemStack, ColorFunction> functions = new Object2ObjectOpenCustomHashMap<>(ItemStackLinkedSet.TYPE_AND_TAG);
+	private static int contributorsVersion = -1;
+
+	public static int getColor(ItemStack colorizer) {
+		if(colorizer.isEmpty() || !(colorizer.getItem() instanceof ICADColorizer icc)) {
+			return ICADColorizer.DEFAULT_SPELL_COLOR;
+		}
+
+		// Contributor colors are looked up once per function, so they go stale when the list finishes loading
+		int version = ContributorSpellCircleHandler.getVersion();
+		if(version != contributorsVersion || functions.size() >= MAX_ENTRIES) {
+			functions.clear();
+			contributorsVersion = version;
+		}
+
+		ColorFunction function = functions.get(colorizer);
+		if(function == null) {
+			ItemStack key = colorizer.copyWithCount(1);
+			function = icc.getColorFunction(key);
+			functions.put(key, function);
+		}
+		return function.getColor(ClientTickHandler.total);
+	}
+
+}
@@ -31,7 +31,6 @@
 import vazkii.psi.api.PsiAPI;
 import vazkii.psi.api.cad.ICAD;
 import vazkii.psi.api.cad.ICADColorizer;
-import vazkii.psi.api.cad.IPsiBarDisplay;
 import vazkii.psi.api.cad.ISocketable;
 import vazkii.psi.api.gui.PsiHudElementType;
 import vazkii.psi.api.gui.RenderPsiHudEvent;
@@ -65,7 +64,10 @@ public final class HUDHandler {
 	private static final int maxRemainingTicks = 30;
 	private static boolean registeredMask = false;
 	public static final LayeredDraw.Layer PSI_BAR = (graphics, deltatracker) -> {
-		if(!NeoForge.EVENT_BUS.post(new RenderPsiHudEvent(PsiHudElementType.PSI_BAR)).isCanceled()) {
+		// Only ask listeners about the bar when there is one to draw
+		PsiHudState.update();
+		Minecraft mc = Minecraft.getInstance();
+		if(mc.player != null && PsiHudState.shouldShowBar(PlayerDataHandler.get(mc.player)) && !NeoForge.EVENT_BUS.post(new RenderPsiHudEvent(PsiHudElementType.PSI_BAR)).isCanceled()) {
 			drawPsiBar(graphics, deltatracker);
 		}
 	};
@@ -73,7 +75,7 @@ public final class HUDHandler {
 	private static int remainingTime;
 	private static int remainingCount;
 	public static final LayeredDraw.Layer REMAINING_ITEMS = (graphics, deltatracker) -> {
-		if(!NeoForge.EVENT_BUS.post(new RenderPsiHudEvent(PsiHudElementType.REMAINING_ITEMS)).isCanceled()) {
+		if(remainingTime > 0 && !NeoForge.EVENT_BUS.post(new RenderPsiHudEvent(PsiHudElementType.REMAINING_ITEMS)).isCanceled()) {
 			renderRemainingItems(graphics, deltatracker);
 		}
 	};
@@ -95,38 +97,23 @@ public static void tick() {
 		--remainingTime;
 	}
 
-	private static boolean showsBar(PlayerData data, ItemStack stack) {
-		if(stack.isEmpty()) {
-			return false;
-		}
-
-		IPsiBarDisplay display = stack.getCapability(PsiAPI.PSI_BAR_DISPLAY_CAPABILITY);
-		if(display != null)
-			return display.shouldShow(data);
-		return false;
-	}
-
 	@OnlyIn(Dist.CLIENT)
 	public static void drawPsiBar(GuiGraphics graphics, DeltaTracker deltatracker) {
 		Minecraft mc = Minecraft.getInstance();
-		ItemStack cadStack = PsiAPI.getPlayerCAD(mc.player);
-
-		if(cadStack.isEmpty()) {
+		if(mc.player == null) {
 			return;
 		}
 
-		ICAD cad = (ICAD) cadStack.getItem();
+		PsiHudState.update();
 		PlayerData data = PlayerDataHandler.get(mc.player);
-
-		int totalPsi = data.getTotalPsi();
-		int currPsi = data.getAvailablePsi();
-
-		if(ConfigHandler.CLIENT.contextSensitiveBar.get() && currPsi == totalPsi &&
-				!showsBar(data, mc.player.getMainHandItem()) &&
-				!showsBar(data, mc.player.getOffhandItem())) {
+		if(!PsiHudState.shouldShowBar(data)) {
 			return;
 		}
 
+		ItemStack cadStack = PsiHudState.getCAD();
+		ICAD cad = (ICAD) cadStack.getItem();
+		int totalPsi = data.getTotalPsi();
+
 		graphics.pose().pushPose();
 
 		boolean right = ConfigHandler.CLIENT.psiBarOnRight.get();
@@ -213,14 +200,14 @@ public static void drawPsiBar(GuiGraphics graphics, DeltaTracker deltatracker) {
 		width = 44;
 		height = 3;
 
-		int storedPsi = cad.getStoredPsi(cadStack);
+		int storedPsi = PsiHudState.getStoredPsi();
 
-		String s1 = storedPsi == -1 ? "∞" : "" + data.availablePsi;
-		String s2 = "" + storedPsi;
+		String s1 = PsiHudState.getAvailableText(mc.font, data.availablePsi);
+		String s2 = PsiHudState.getStoredText(mc.font);
 
 		int offBar = 22;
-		int offStr1 = 7 + mc.font.width(s1);
-		int offStr2 = 7 + mc.font.width(s2);
+		int offStr1 = 7 + PsiHudState.getAvailableWidth();
+		int offStr2 = 7 + PsiHudState.getStoredWidth();
 
 		if(!right) {
 			offBar = 6;
@@ -0,0 +1,152 @@
+/*
+ * This class is distributed as part of the Psi Mod.
+ * Get the Source Code in GitHub:
+ * https://github.com/Vazkii/Psi
+ *
+ * Psi is Open Source and distributed under the
+ * Psi License: https://psi.vazkii.net/license.php
+ */
+package vazkii.psi.client.core.handler;
+
+import net.minecraft.client.Minecraft;
+import net.minecraft.client.gui.Font;
+import net.minecraft.world.entity.player.Inventory;
+import net.minecraft.world.entity.player.Player;
+import net.minecraft.world.item.ItemStack;
+import net.neoforged.api.distmarker.Dist;
+import net.neoforged.api.distmarker.OnlyIn;
+
+import vazkii.psi.api.PsiAPI;
+import vazkii.psi.api.cad.ICAD;
+import vazkii.psi.api.cad.IPsiBarDisplay;
+import vazkii.psi.common.core.handler.ConfigHandler;
+import vazkii.psi.common.core.handler.PlayerDataHandler;
+import vazkii.psi.common.core.handler.PlayerDataHandler.PlayerData;
+
+/**
+ * What the Psi bar shows, looked up again only when the player's inventory changes, the held slot changes or the
+ * server syncs Psi data, instead of every frame. Only the CAD's stored Psi is read every frame. The numbers drawn
+ * next to the bar are formatted and measured only when they change.
+ * <p>
+ * The spell color isn't kept here, since colorizers can animate it from frame to frame.
+ */
+@OnlyIn(Dist.CLIENT)
+public final class PsiHudState {
+
+	private static Player player;
+	private static int inventoryChanges;
+	private static int selectedSlot;
+	private static boolean dirty = true;
+
+	private static ItemStack cad = ItemStack.EMPTY;
+	private static boolean handsShowBar;
+	private static int storedPsi;
+
+	private static int availableValue = Integer.MIN_VALUE;
+	private static String availableText;
+	private static int availableWidth;
+
+	private static int storedValue = Integer.MIN_VALUE;
+	private static String storedText;
+	private static int storedWidth;
+
+	/**
+	 * Marks the state as out of date, to be called whenever the server sends Psi data.
+	 */
+	public static void invalidate() {
+		dirty = true;
+	}
+
+	/**
+	 * Brings the state up to date if anything it depends on changed. This only compares a few fields and reads the
+	 * CAD's battery, so it's cheap enough to call every frame.
+	 */
+	public static void update() {
+		Player current = Minecraft.getInstance().player;
+		if(current == null) {
+			player = null;
+			cad = ItemStack.EMPTY;
+			return;
+		}
+
+		Inventory inventory = current.getInventory();
+		if(dirty || current != player || inventory.getTimesChanged() != inventoryChanges || inventory.selected != selectedSlot) {
+			dirty = false;
+			player = current;
+			inventoryChanges = inventory.getTimesChanged();
+			selectedSlot = inventory.selected;
+
+			cad = PsiAPI.getPlayerCAD(current);
+			if(!cad.isEmpty()) {
+				PlayerData data = PlayerDataHandler.get(current);
+				handsShowBar = showsBar(data, current.getMainHandItem()) || showsBar(data, current.getOffhandItem());
+			}
+		}
+
+		// The battery regenerates in place without any of the above changing, so it's read every time
+		if(!cad.isEmpty()) {
+			storedPsi = ((ICAD) cad.getItem()).getStoredPsi(cad);
+		}
+	}
+
+	private static boolean showsBar(PlayerData data, ItemStack stack) {
+		if(stack.isEmpty()) {
+			return false;
+		}
+
+		IPsiBarDisplay display = stack.getCapability(PsiAPI.PSI_BAR_DISPLAY_CAPABILITY);
+		return display != null && display.shouldShow(data);
+	}
+
+	public static ItemStack getCAD() {
+		return cad;
+	}
+
+	/**
+	 * Whether the bar is drawn at all, which needs a CAD and, with the context sensitive bar, either missing Psi or
+	 * an item in hand that shows it.
+	 */
+	public static boolean shouldShowBar(PlayerData data) {
+		if(cad.isEmpty()) {
+			return false;
+		}
+		return !ConfigHandler.CLIENT.contextSensitiveBar.get() || data.getAvailablePsi() != data.getTotalPsi() || handsShowBar;
+	}
+
+	public static int getStoredPsi() {
+		return storedPsi;
+	}
+
+	public static String getAvailableText(Font font, int availablePsi) {
+		int value = storedPsi == -1 ? -1 : availablePsi;
+		if(value != availableValue || availableText == null) {
+			availableValue = value;
+			availableText = value == -1 ? "∞" : Integer.toString(value);
+			availableWidth = font.width(availableText);
+		}
+		return availableText;
+	}
+
+	/**
+	 * The width of the last text returned by {@link #getAvailableText}.
+	 */
+	public static int getAvailableWidth() {
+		return availableWidth;
+	}
+
+	public static String getStoredText(Font font) {
+		if(storedPsi != storedValue || storedText == null) {
+			storedValue = storedPsi;
+			storedText = Integer.toString(storedPsi);
+			storedWidth = font.width(storedText);
+		}
+		return storedText;
+	}
+
+	/**
+	 * The width of the last text returned by {@link #getStoredText}.
+	 */
+	public static int getStoredWidth() {
+		return storedWidth;
+	}
+}
@@ -21,9 +21,11 @@
 import net.minecraft.core.registries.BuiltInRegistries;
 import net.minecraft.resources.ResourceLocation;
 import net.minecraft.server.level.ServerPlayer;
+import net.minecraft.world.entity.Entity;
 import net.minecraft.world.entity.EquipmentSlot;
 import net.minecraft.world.entity.LivingEntity;
 import net.minecraft.world.entity.player.Player;
+import net.minecraft.world.inventory.InventoryMenu;
 import net.minecraft.world.item.ItemStack;
 import net.minecraft.world.level.Level;
 import net.neoforged.api.distmarker.Dist;
@@ -36,15 +38,18 @@
 import net.neoforged.neoforge.client.event.ModelEvent;
 import net.neoforged.neoforge.client.event.RegisterMenuScreensEvent;
 import net.neoforged.neoforge.client.event.RegisterParticleProvidersEvent;
+import net.neoforged.neoforge.client.event.TextureAtlasStitchedEvent;
 import net.neoforged.neoforge.client.extensions.common.IClientItemExtensions;
 import net.neoforged.neoforge.client.extensions.common.RegisterClientExtensionsEvent;
 
 import org.jetbrains.annotations.NotNull;
 
+import vazkii.psi.api.ClientPsiAPI;
 import vazkii.psi.api.cad.ICAD;
-import vazkii.psi.api.cad.ICADColorizer;
 import vazkii.psi.api.spell.ISpellAcceptor;
 import vazkii.psi.api.spell.SpellPiece;
+import vazkii.psi.client.core.handler.ColorizerColorCache;
+import vazkii.psi.client.core.handler.PsiHudState;
 import vazkii.psi.client.fx.*;
 import vazkii.psi.client.gui.GuiCADAssembler;
 import vazkii.psi.client.gui.GuiFlashRing;
@@ -60,6 +65,8 @@
 import vazkii.psi.common.block.base.ModBlocks;
 import vazkii.psi.common.block.tile.TileProgrammer;
 import vazkii.psi.common.core.proxy.IProxy;
+import vazkii.psi.common.entity.EntitySpellCircle;
+import vazkii.psi.common.entity.EntitySpellProjectile;
 import vazkii.psi.common.entity.ModEntities;
 import vazkii.psi.common.item.base.ModItems;
 import vazkii.psi.common.lib.LibItemNames;
@@ -98,6 +105,13 @@ public static void registerParticles(RegisterParticleProvidersEvent evt) {
 		evt.registerSpriteSet(ModParticles.SPARKLE.get(), FXSparkle.Factory::new);
 	}
 
+	@SubscribeEvent
+	public static void onTextureStitched(TextureAtlasStitchedEvent evt) {
+		if(evt.getAtlas().location().equals(InventoryMenu.BLOCK_ATLAS)) {
+			ClientPsiAPI.clearSpriteCache();
+		}
+	}
+
 	@SubscribeEvent
 	public static void registerMenuScreens(RegisterMenuScreensEvent evt) {
 		evt.register(containerCADAssembler, GuiCADAssembler::new);
@@ -136,6 +150,9 @@ private void loadComplete(FMLLoadCompleteEvent event) {
 			RenderType layer = SpellPiece.getLayer();
 			map.put(layer, new ByteBufferBuilder(layer.bufferSize()));
 			map.put(GuiProgrammer.LAYER, new ByteBufferBuilder(GuiProgrammer.LAYER.bufferSize()));
+			for(RenderType circleLayer : RenderSpellCircle.getLayers()) {
+				map.put(circleLayer, new ByteBufferBuilder(circleLayer.bufferSize()));
+			}
 		});
 	}
 
@@ -195,10 +212,7 @@ public int getColorForCAD(ItemStack cadStack) {
 
 	@Override
 	public int getColorForColorizer(ItemStack colorizer) {
-		if(colorizer.isEmpty() || !(colorizer.getItem() instanceof ICADColorizer icc)) {
-			return ICADColorizer.DEFAULT_SPELL_COLOR;
-		}
-		return icc.getColor(colorizer);
+		return ColorizerColorCache.getColor(colorizer);
 	}
 
 	@Override
@@ -231,6 +245,41 @@ public void wispFX(double x, double y, double z, float r, float g, float b, floa
 		wispFX(Minecraft.getInstance().level, x, y, z, r, g, b, size, motionX, motionY, motionZ, maxAgeMul);
 	}
 
+	@Override
+	public void castFX(Player player, ItemStack cad, int particles) {
+		SpellEffects.cast(player, cad, particles);
+	}
+
+	@Override
+	public void loopcastFX(Player player, ItemStack cad) {
+		SpellEffects.loopcast(player, cad);
+	}
+
+	@Override
+	public void eidosReversionFX(Player player, ItemStack cad) {
+		SpellEffects.eidosReversion(player, cad);
+	}
+
+	@Override
+	public void spellProjectileFX(EntitySpellProjectile projectile) {
+		SpellEffects.projectile(projectile);
+	}
+
+	@Override
+	public void spellExplosionFX(Entity entity) {
+		SpellEffects.explosion(entity);
+	}
+
+	@Override
+	public void spellCircleFX(EntitySpellCircle circle) {
+		SpellEffects.spellCircle(circle);
+	}
+
+	@Override
+	public void onPsiDataSynced() {
+		PsiHudState.invalidate();
+	}
+
 	@Override
 	public void openProgrammerGUI(TileProgrammer programmer) {
 		Minecraft.getInstance().setScreen(new GuiProgrammer(programmer));
@@ -8,43 +8,21 @@
  */
 package vazkii.psi.client.fx;
 
-import com.mojang.blaze3d.systems.RenderSystem;
-import com.mojang.blaze3d.vertex.BufferBuilder;
-import com.mojang.blaze3d.vertex.DefaultVertexFormat;
-import com.mojang.blaze3d.vertex.Tesselator;
-import com.mojang.blaze3d.vertex.VertexFormat;
-
-import net.minecraft.client.Minecraft;
 import net.minecraft.client.multiplayer.ClientLevel;
 import net.minecraft.client.particle.ParticleProvider;
 import net.minecraft.client.particle.ParticleRenderType;
 import net.minecraft.client.particle.SpriteSet;
 import net.minecraft.client.particle.TextureSheetParticle;
-import net.minecraft.client.renderer.texture.AbstractTexture;
-import net.minecraft.client.renderer.texture.TextureAtlas;
-import net.minecraft.client.renderer.texture.TextureManager;
 import net.neoforged.api.distmarker.Dist;
 import net.neoforged.api.distmarker.OnlyIn;
 
 import org.jetbrains.annotations.NotNull;
-import org.lwjgl.opengl.GL11;
+import org.jetbrains.annotations.Nullable;
 
 // https://github.com/Vazkii/Botania/blob/1.15/src/main/java/vazkii/botania/client/fx/FXSparkle.java
 @OnlyIn(Dist.CLIENT)
 public class FXSparkle extends TextureSheetParticle {
 
-	private static final ParticleRenderType NORMAL_RENDER = new ParticleRenderType() {
-		@Override
-		public BufferBuilder begin(@NotNull Tesselator tessellator, @NotNull TextureManager textureManager) {
-			return beginRenderCommon(tessellator, textureManager);
-		}
-
-		@Override
-		public String toString() {
-			return "psi:sparkle";
-		}
-	};
-
 	public FXSparkle(ClientLevel world, double x, double y, double z, float size,
 			float red, float green, float blue, int m, double mx, double my, double mz, SpriteSet sprite) {
 		super(world, x, y, z, 0.0D, 0.0D, 0.0D);
@@ -69,18 +47,6 @@ public FXSparkle(ClientLevel world, double x, double y, double z, float size,
 		setSpriteFromAge(sprite);
 	}
 
-	private static BufferBuilder beginRenderCommon(Tesselator tessellator, TextureManager textureManager) {
-		Minecraft.getInstance().gameRenderer.lightTexture().turnOnLightLayer();
-		RenderSystem.enableDepthTest();
-		RenderSystem.depthMask(false);
-		RenderSystem.enableBlend();
-		RenderSystem.blendFunc(GL11.GL_SRC_ALPHA, GL11.GL_ONE);
-		RenderSystem.setShaderTexture(0, TextureAtlas.LOCATION_PARTICLES);
-		AbstractTexture tex = textureManager.getTexture(TextureAtlas.LOCATION_PARTICLES);
-		tex.setFilter(true, false);
-		return tessellator.begin(VertexFormat.Mode.QUADS, DefaultVertexFormat.PARTICLE);
-	}
-
 	@Override
 	public float getQuadSize(float partialTicks) {
 		return quadSize * (lifetime - age + 1) / (float) lifetime;
@@ -111,10 +77,18 @@ public void tick() {
 		}
 	}
 
+	@Override
+	public void remove() {
+		if(isAlive()) {
+			ParticleBudget.release();
+		}
+		super.remove();
+	}
+
 	@NotNull
 	@Override
 	public ParticleRenderType getRenderType() {
-		return NORMAL_RENDER;
+		return ParticleBudget.RENDER_TYPE;
 	}
 
 	public static class Factory implements ParticleProvider<SparkleParticleData> {
@@ -124,8 +98,12 @@ public Factory(SpriteSet sprite) {
 			this.sprite = sprite;
 		}
 
+		@Nullable
 		@Override
 		public TextureSheetParticle createParticle(SparkleParticleData data, @NotNull ClientLevel world, double x, double y, double z, double mx, double my, double mz) {
+			if(!ParticleBudget.tryAcquire(world, x, y, z)) {
+				return null;
+			}
 			return new FXSparkle(world, x, y, z, data.size(), data.r(), data.g(), data.b(), data.m(), mx, my, mz, sprite);
 		}
 	}
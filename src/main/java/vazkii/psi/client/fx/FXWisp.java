@@ -8,42 +8,21 @@
  */
 package vazkii.psi.client.fx;
 
-import com.mojang.blaze3d.systems.RenderSystem;
-import com.mojang.blaze3d.vertex.BufferBuilder;
-import com.mojang.blaze3d.vertex.DefaultVertexFormat;
-import com.mojang.blaze3d.vertex.Tesselator;
-import com.mojang.blaze3d.vertex.VertexFormat;
-
-import net.minecraft.client.Minecraft;
 import net.minecraft.client.multiplayer.ClientLevel;
 import net.minecraft.client.particle.ParticleProvider;
 import net.minecraft.client.particle.ParticleRenderType;
 import net.minecraft.client.particle.SpriteSet;
 import net.minecraft.client.particle.TextureSheetParticle;
-import net.minecraft.client.renderer.texture.AbstractTexture;
-import net.minecraft.client.renderer.texture.TextureAtlas;
-import net.minecraft.client.renderer.texture.TextureManager;
 import net.neoforged.api.distmarker.Dist;
 import net.neoforged.api.distmarker.OnlyIn;
 
 import org.jetbrains.annotations.NotNull;
-import org.lwjgl.opengl.GL11;
+import org.jetbrains.annotations.Nullable;
 
 // https://github.com/Vazkii/Botania/blob/1.15/src/main/java/vazkii/botania/client/fx/FXWisp.java
 @OnlyIn(Dist.CLIENT)
 public class FXWisp extends TextureSheetParticle {
 
-	private static final ParticleRenderType NORMAL_RENDER = new ParticleRenderType() {
-		@Override
-		public BufferBuilder begin(@NotNull Tesselator tessellator, @NotNull TextureManager textureManager) {
-			return beginRenderCommon(tessellator, textureManager);
-		}
-
-		@Override
-		public String toString() {
-			return "psi:wisp";
-		}
-	};
 	private final float moteParticleScale;
 	private final int moteHalfLife;
 
@@ -72,18 +51,6 @@ public FXWisp(ClientLevel world, double d, double d1, double d2, double xSpeed,
 		this.hasPhysics = true;
 	}
 
-	private static BufferBuilder beginRenderCommon(Tesselator tessellator, TextureManager textureManager) {
-		Minecraft.getInstance().gameRenderer.lightTexture().turnOnLightLayer();
-		RenderSystem.depthMask(false);
-		RenderSystem.enableBlend();
-		RenderSystem.blendFunc(GL11.GL_SRC_ALPHA, GL11.GL_ONE);
-
-		RenderSystem.setShaderTexture(0, TextureAtlas.LOCATION_PARTICLES);
-		AbstractTexture tex = textureManager.getTexture(TextureAtlas.LOCATION_PARTICLES);
-		tex.setFilter(true, false);
-		return tessellator.begin(VertexFormat.Mode.QUADS, DefaultVertexFormat.PARTICLE);
-	}
-
 	@Override
 	public float getQuadSize(float scaleFactor) {
 		float ageScale = (float) age / (float) moteHalfLife;
@@ -100,10 +67,18 @@ protected int getLightColor(float partialTicks) {
 		return 0xF000F0;
 	}
 
+	@Override
+	public void remove() {
+		if(isAlive()) {
+			ParticleBudget.release();
+		}
+		super.remove();
+	}
+
 	@NotNull
 	@Override
 	public ParticleRenderType getRenderType() {
-		return NORMAL_RENDER;
+		return ParticleBudget.RENDER_TYPE;
 	}
 
 	// [VanillaCopy] of super, without drag when onGround is true
@@ -132,8 +107,12 @@ public Factory(SpriteSet sprite) {
 			this.sprite = sprite;
 		}
 
+		@Nullable
 		@Override
 		public TextureSheetParticle createParticle(WispParticleData data, @NotNull ClientLevel world, double x, double y, double z, double mx, double my, double mz) {
+			if(!ParticleBudget.tryAcquire(world, x, y, z)) {
+				return null;
+			}
 			FXWisp ret = new FXWisp(world, x, y, z, mx, my, mz, data.size(), data.r(), data.g(), data.b(), data.maxAgeMul());
 			ret.pickSprite(sprite);
 			return ret;
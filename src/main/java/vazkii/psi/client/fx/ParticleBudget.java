@@ -0,0 +1,120 @@
+/*
+ * This class is distributed as part of the Psi Mod.
+ * Get the Source Code in github:
+ * https://github.com/Vazkii/Psi
+ *
+ * Psi is Open Source and distributed under the
+ * Psi License: https://psi.vazkii.net/license.php
+ */
+package vazkii.psi.client.fx;
+
+import com.mojang.blaze3d.systems.RenderSystem;
+import com.mojang.blaze3d.vertex.BufferBuilder;
+import com.mojang.blaze3d.vertex.DefaultVertexFormat;
+import com.mojang.blaze3d.vertex.Tesselator;
+import com.mojang.blaze3d.vertex.VertexFormat;
+
+import net.minecraft.client.Camera;
+import net.minecraft.client.Minecraft;
+import net.minecraft.client.multiplayer.ClientLevel;
+import net.minecraft.client.particle.ParticleRenderType;
+import net.minecraft.client.renderer.texture.AbstractTexture;
+import net.minecraft.client.renderer.texture.TextureAtlas;
+import net.minecraft.client.renderer.texture.TextureManager;
+import net.minecraft.world.phys.Vec3;
+import net.neoforged.api.distmarker.Dist;
+import net.neoforged.api.distmarker.OnlyIn;
+import net.neoforged.bus.api.SubscribeEvent;
+import net.neoforged.fml.common.EventBusSubscriber;
+import net.neoforged.neoforge.client.event.ClientTickEvent;
+import net.neoforged.neoforge.event.level.LevelEvent;
+
+import org.jetbrains.annotations.NotNull;
+import org.lwjgl.opengl.GL11;
+
+import vazkii.psi.common.core.handler.ConfigHandler;
+import vazkii.psi.common.lib.LibMisc;
+
+/**
+ * Caps how many Psi particles are alive and spawned per tick, and thins out the ones far from the camera. Every
+ * sparkle and wisp goes through {@link #tryAcquire} in its factory, so the caps also hold for particles sent by the
+ * server.
+ */
+@OnlyIn(Dist.CLIENT)
+@EventBusSubscriber(value = Dist.CLIENT, modid = LibMisc.MOD_ID)
+public final class ParticleBudget {
+
+	// Full detail up to this distance, then the chance to spawn falls off with the square of the distance
+	private static final double FULL_DETAIL_DISTANCE = 16;
+	private static final double MAX_DISTANCE = 64;
+
+	/**
+	 * Sparkles and wisps are drawn the same way, so they share a render type and are drawn together in one batch.
+	 */
+	public static final ParticleRenderType RENDER_TYPE = new ParticleRenderType() {
+		@Override
+		public BufferBuilder begin(@NotNull Tesselator tessellator, @NotNull TextureManager textureManager) {
+			Minecraft.getInstance().gameRenderer.lightTexture().turnOnLightLayer();
+			RenderSystem.enableDepthTest();
+			RenderSystem.depthMask(false);
+			RenderSystem.enableBlend();
+			RenderSystem.blendFunc(GL11.GL_SRC_ALPHA, GL11.GL_ONE);
+			RenderSystem.setShaderTexture(0, TextureAtlas.LOCATION_PARTICLES);
+			AbstractTexture tex = textureManager.getTexture(TextureAtlas.LOCATION_PARTICLES);
+			tex.setFilter(true, false);
+			return tessellator.begin(VertexFormat.Mode.QUADS, DefaultVertexFormat.PARTICLE);
+		}
+
+		@Override
+		public String toString() {
+			return "psi:particles";
+		}
+	};
+
+	private static int alive;
+	private static int spawnedThisTick;
+
+	/**
+	 * Takes a spot in the budget for a particle about to be spawned.
+	 *
+	 * @return whether the particle should be spawned, in which case {@link #release} has to be called once it is
+	 *         removed
+	 */
+	public static boolean tryAcquire(ClientLevel level, double x, double y, double z) {
+		if(alive >= ConfigHandler.CLIENT.maxParticles.get() || spawnedThisTick >= ConfigHandler.CLIENT.maxParticlesPerTick.get()) {
+			return false;
+		}
+
+		Camera camera = Minecraft.getInstance().gameRenderer.getMainCamera();
+		if(camera.isInitialized()) {
+			double distSq = camera.getPosition().distanceToSqr(new Vec3(x, y, z));
+			if(distSq > MAX_DISTANCE * MAX_DISTANCE) {
+				return false;
+			}
+			if(distSq > FULL_DETAIL_DISTANCE * FULL_DETAIL_DISTANCE && level.random.nextDouble() * distSq > FULL_DETAIL_DISTANCE * FULL_DETAIL_DISTANCE) {
+				return false;
+			}
+		}
+
+		alive++;
+		spawnedThisTick++;
+		return true;
+	}
+
+	public static void release() {
+		alive = Math.max(0, alive - 1);
+	}
+
+	@SubscribeEvent
+	public static void onClientTick(ClientTickEvent.Pre event) {
+		spawnedThisTick = 0;
+	}
+
+	@SubscribeEvent
+	public static void onLevelUnload(LevelEvent.Unload event) {
+		// The particle engine drops every particle when the level changes, without removing them one by one
+		if(event.getLevel().isClientSide()) {
+			alive = 0;
+		}
+	}
+}
@@ -0,0 +1,163 @@
+/*
+ * This class is distributed as part of the Psi Mod.
+ * Get the Source Code in github:
+ * https://github.com/Vazkii/Psi
+ *
+ * Psi is Open Source and distributed under the
+ * Psi License: https://psi.vazkii.net/license.php
+ */
+package vazkii.psi.client.fx;
+
+import net.minecraft.core.particles.ParticleTypes;
+import net.minecraft.util.RandomSource;
+import net.minecraft.world.entity.Entity;
+import net.minecraft.world.entity.player.Player;
+import net.minecraft.world.item.ItemStack;
+import net.minecraft.world.phys.Vec3;
+import net.neoforged.api.distmarker.Dist;
+import net.neoforged.api.distmarker.OnlyIn;
+
+import vazkii.psi.api.cad.ICADColorizer;
+import vazkii.psi.api.internal.PsiRenderHelper;
+import vazkii.psi.common.Psi;
+import vazkii.psi.common.core.handler.ConfigHandler;
+import vazkii.psi.common.entity.EntitySpellCircle;
+import vazkii.psi.common.entity.EntitySpellGrenade;
+import vazkii.psi.common.entity.EntitySpellProjectile;
+
+/**
+ * The particles of spell casts and spell entities. These are only ever emitted on the client, through the proxy,
+ * and every count is scaled by the particle density in the client config.
+ */
+@OnlyIn(Dist.CLIENT)
+public final class SpellEffects {
+
+	/**
+	 * Scales a particle count by the configured density. The fractional part is kept as a chance, so low densities
+	 * still show the odd particle instead of none.
+	 */
+	public static int scaleCount(RandomSource random, int count) {
+		double scaled = count * ConfigHandler.CLIENT.particleDensity.get();
+		int whole = (int) scaled;
+		return random.nextDouble() < scaled - whole ? whole + 1 : whole;
+	}
+
+	public static void cast(Player player, ItemStack cad, int particles) {
+		int color = Psi.proxy.getColorForCAD(cad);
+		float r = PsiRenderHelper.r(color) / 255F;
+		float g = PsiRenderHelper.g(color) / 255F;
+		float b = PsiRenderHelper.b(color) / 255F;
+		RandomSource random = player.getRandom();
+
+		risingSparkles(player, random, scaleCount(random, particles), r, g, b);
+
+		double x = player.getX();
+		double y = player.getY() + player.getEyeHeight() - 0.1;
+		double z = player.getZ();
+		Vec3 look = player.getLookAngle();
+		for(int i = scaleCount(random, 25); i > 0; i--) {
+			Vec3 motion = spread(random, look.x, look.y, look.z, 0.25, 0.15);
+			Psi.proxy.sparkleFX(x, y, z, r, g, b, (float) motion.x, (float) motion.y, (float) motion.z, 0.3F, 5);
+		}
+	}
+
+	public static void loopcast(Player player, ItemStack cad) {
+		int color = cad.isEmpty() ? ICADColorizer.DEFAULT_SPELL_COLOR : Psi.proxy.getColorForCAD(cad);
+		RandomSource random = player.getRandom();
+		risingSparkles(player, random, scaleCount(random, 5),
+				PsiRenderHelper.r(color) / 255F, PsiRenderHelper.g(color) / 255F, PsiRenderHelper.b(color) / 255F);
+	}
+
+	public static void eidosReversion(Player player, ItemStack cad) {
+		int color = cad.isEmpty() ? ICADColorizer.DEFAULT_SPELL_COLOR : Psi.proxy.getColorForCAD(cad);
+		float r = PsiRenderHelper.r(color) / 255F;
+		float g = PsiRenderHelper.g(color) / 255F;
+		float b = PsiRenderHelper.b(color) / 255F;
+		RandomSource random = player.getRandom();
+
+		double spread = 0.6;
+		for(int i = scaleCount(random, 5); i > 0; i--) {
+			double x = player.getX() + (random.nextDouble() - 0.5) * spread;
+			double y = player.getY() + (random.nextDouble() - 0.5) * spread;
+			double z = player.getZ() + (random.nextDouble() - 0.5) * spread;
+			Psi.proxy.sparkleFX(x, y, z, r, g, b, 0, 0, 0, 1.2F, 12);
+		}
+	}
+
+	public static void projectile(EntitySpellProjectile projectile) {
+		RandomSource random = projectile.getRandom();
+		int count = scaleCount(random, projectile.getParticleCount());
+		if(count == 0) {
+			return;
+		}
+
+		int color = Psi.proxy.getColorForColorizer(projectile.getColorizer());
+		float r = PsiRenderHelper.r(color) / 255F;
+		float g = PsiRenderHelper.g(color) / 255F;
+		float b = PsiRenderHelper.b(color) / 255F;
+
+		Vec3 look = projectile.getDeltaMovement().normalize();
+		double lift = 0;
+		double dist = 0.15;
+		if(projectile instanceof EntitySpellGrenade) {
+			lift = 1;
+			dist = 0.05;
+		}
+
+		for(int i = 0; i < count; i++) {
+			Vec3 motion = spread(random, look.x, look.y + lift, look.z, 0.6, dist);
+			Psi.proxy.sparkleFX(projectile.getX(), projectile.getY(), projectile.getZ(), r, g, b, (float) motion.x, (float) motion.y, (float) motion.z, 1.2F, 12);
+		}
+	}
+
+	public static void explosion(Entity entity) {
+		RandomSource random = entity.getRandom();
+		double m = 0.1;
+		for(int i = scaleCount(random, 40); i > 0; i--) {
+			double x = entity.getX() + 0.75 * random.nextFloat() - 0.375;
+			double y = entity.getY() + 0.5 * random.nextFloat();
+			double z = entity.getZ() + 0.75 * random.nextFloat() - 0.375;
+			entity.level().addParticle(ParticleTypes.EXPLOSION, x, y, z, random.nextGaussian() * m, random.nextGaussian() * m, random.nextGaussian() * m);
+		}
+	}
+
+	public static void spellCircle(EntitySpellCircle circle) {
+		RandomSource random = circle.getRandom();
+		int count = scaleCount(random, 5);
+		if(count == 0) {
+			return;
+		}
+
+		int color = Psi.proxy.getColorForColorizer(circle.getEntityData().get(EntitySpellCircle.COLORIZER_DATA));
+		float r = PsiRenderHelper.r(color) / 255F;
+		float g = PsiRenderHelper.g(color) / 255F;
+		float b = PsiRenderHelper.b(color) / 255F;
+		for(int i = 0; i < count; i++) {
+			double x = circle.getX() + (random.nextDouble() - 0.5) * circle.getBbWidth();
+			double y = circle.getY();
+			double z = circle.getZ() + (random.nextDouble() - 0.5) * circle.getBbWidth();
+			float grav = -0.15F - random.nextFloat() * 0.03F;
+			Psi.proxy.sparkleFX(x, y, z, r, g, b, grav, 0.25F, 15);
+		}
+	}
+
+	private static void risingSparkles(Player player, RandomSource random, int count, float r, float g, float b) {
+		for(int i = 0; i < count; i++) {
+			double x = player.getX() + (random.nextDouble() - 0.5) * 2.1 * player.getBbWidth();
+			double y = player.getY() + 0.35D;
+			double z = player.getZ() + (random.nextDouble() - 0.5) * 2.1 * player.getBbWidth();
+			float grav = -0.15F - random.nextFloat() * 0.03F;
+			Psi.proxy.sparkleFX(x, y, z, r, g, b, grav, 0.25F, 15);
+		}
+	}
+
+	/**
+	 * Jitters a direction by up to half the spread on each axis, then scales it to the given length.
+	 */
+	private static Vec3 spread(RandomSource random, double x, double y, double z, double spread, double length) {
+		return new Vec3(x + (random.nextDouble() - 0.5) * spread,
+				y + (random.nextDouble() - 0.5) * spread,
+				z + (random.nextDouble() - 0.5) * spread).normalize().scale(length);
+	}
+
+}
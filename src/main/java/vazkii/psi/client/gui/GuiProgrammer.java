@@ -10,7 +10,6 @@
 
 import com.google.common.collect.ImmutableSet;
 import com.mojang.blaze3d.platform.InputConstants;
-import com.mojang.blaze3d.vertex.ByteBufferBuilder;
 import com.mojang.blaze3d.vertex.DefaultVertexFormat;
 import com.mojang.blaze3d.vertex.VertexFormat;
 import com.mojang.datafixers.util.Either;
@@ -25,11 +24,9 @@
 import net.minecraft.client.gui.screens.Screen;
 import net.minecraft.client.player.LocalPlayer;
 import net.minecraft.client.renderer.GameRenderer;
-import net.minecraft.client.renderer.MultiBufferSource;
 import net.minecraft.client.renderer.RenderStateShard;
 import net.minecraft.client.renderer.RenderStateShard.ShaderStateShard;
 import net.minecraft.client.renderer.RenderType;
-import net.minecraft.client.resources.language.I18n;
 import net.minecraft.nbt.CompoundTag;
 import net.minecraft.nbt.ListTag;
 import net.minecraft.nbt.Tag;
@@ -53,6 +50,7 @@
 import vazkii.psi.client.gui.button.GuiButtonIO;
 import vazkii.psi.client.gui.button.GuiButtonSideConfig;
 import vazkii.psi.client.gui.widget.*;
+import vazkii.psi.client.render.SpellGridMesh;
 import vazkii.psi.common.Psi;
 import vazkii.psi.common.block.tile.TileProgrammer;
 import vazkii.psi.common.core.handler.ConfigHandler;
@@ -90,6 +88,8 @@ public class GuiProgrammer extends Screen {
 	public final TileProgrammer programmer;
 	public final Stack<Spell> undoSteps = new Stack<>();
 	public final Stack<Spell> redoSteps = new Stack<>();
+	private final SpellGridMesh gridMesh = new SpellGridMesh(0xF000F0);
+	private final ProgrammerTextModel textModel = new ProgrammerTextModel(Minecraft.getInstance().font);
 	public Spell spell;
 	public List<Component> tooltip = new ArrayList<>();
 	public Either<CompiledSpell, SpellCompilationException> compileResult;
@@ -136,6 +136,7 @@ public void mouseMoved(double xPos, double mouseY) {
 
 	@Override
 	protected void init() {
+		gridMesh.invalidate();
 		xSize = 174;
 		ySize = 184;
 		padLeft = 7;
@@ -315,9 +316,8 @@ public void render(GuiGraphics graphics, int mouseX, int mouseY, float partialTi
 		graphics.pose().pushPose();
 		tooltip.clear();
 		graphics.pose().translate(gridLeft, gridTop, 0);
-		MultiBufferSource.BufferSource buffers = MultiBufferSource.immediate(new ByteBufferBuilder(1536));
-		spell.draw(graphics.pose(), buffers, 0xF000F0);
-		buffers.endBatch();
+		graphics.flush();
+		gridMesh.render(graphics.pose(), spell.grid);
 
 		compileResult.right().ifPresent(ex -> {
 			Pair<Integer, Integer> errorPos = ex.location;
@@ -355,15 +355,15 @@ public void render(GuiGraphics graphics, int mouseX, int mouseY, float partialTi
 					}
 				}
 			}
-			String version = "Psi " + ModList.get().getModContainerById("psi").get().getModInfo().getVersion().toString();
-			graphics.drawString(getMinecraft().font, version, left + xSize / 2f - font.width(version) / 2f, (float) top - 22, 0xFFFFFF, true);
+			ProgrammerTextModel.Label version = textModel.getVersion();
+			graphics.drawString(getMinecraft().font, version.text, left + xSize / 2f - version.width / 2f, (float) top - 22, 0xFFFFFF, true);
 		}
 
 		SpellPiece pieceAtCursor = null;
 		if(cursorX != -1 && cursorY != -1) {
 			pieceAtCursor = spell.grid.gridData[cursorX][cursorY];
 			if(pieceAtCursor != null) {
-				pieceAtCursor.getTooltip(tooltip);
+				tooltip.addAll(textModel.getTooltip(pieceAtCursor));
 				comment = pieceAtCursor.comment;
 			}
 
@@ -381,45 +381,40 @@ public void render(GuiGraphics graphics, int mouseX, int mouseY, float partialTi
 		if(!takingScreenshot) {
 			int topYText = topY;
 			if(spectator) {
-				String spectator = ChatFormatting.RED + I18n.get("psimisc.spectator");
-				graphics.drawString(getMinecraft().font, spectator, left + xSize / 2f - font.width(spectator) / 2f, topYText, 0xFFFFFF, true);
+				ProgrammerTextModel.Label spectator = textModel.getSpectator();
+				graphics.drawString(getMinecraft().font, spectator.text, left + xSize / 2f - spectator.width / 2f, topYText, 0xFFFFFF, true);
 				topYText -= 10;
 			}
 			if(piece != null) {
-				String pieceName = I18n.get(piece.getUnlocalizedName());
-				graphics.drawString(getMinecraft().font, pieceName, left + xSize / 2f - font.width(pieceName) / 2f, topYText, 0xFFFFFF, true);
+				ProgrammerTextModel.Label pieceName = textModel.getPieceName(piece);
+				graphics.drawString(getMinecraft().font, pieceName.text, left + xSize / 2f - pieceName.width / 2f, topYText, 0xFFFFFF, true);
 				topYText -= 10;
 			}
 			if(LibMisc.BETA_TESTING) {
-				String betaTest = ChatFormatting.GOLD + I18n.get("psimisc.wip");
-				graphics.drawString(getMinecraft().font, betaTest, left + xSize / 2f - font.width(betaTest) / 2f, topYText, 0xFFFFFF, true);
+				ProgrammerTextModel.Label betaTest = textModel.getWip();
+				graphics.drawString(getMinecraft().font, betaTest.text, left + xSize / 2f - betaTest.width / 2f, topYText, 0xFFFFFF, true);
 
 			}
 
-			String coords;
-			if(SpellGrid.exists(cursorX, cursorY)) {
-				coords = I18n.get("psimisc.programmer_coords", convertIntToLetter(selectedX + 1), selectedY + 1, convertIntToLetter(cursorX + 1), cursorY + 1);
-			} else {
-				coords = I18n.get("psimisc.programmer_coords_no_cursor", convertIntToLetter(selectedX + 1), selectedY + 1);
-			}
-			graphics.drawString(getMinecraft().font, coords, left + 4, topY + ySize + 24, 0x44FFFFFF);
-			String version = "Psi " + ModList.get().getModContainerById("psi").get().getModInfo().getVersion().toString();
-			graphics.drawString(getMinecraft().font, version, left + xSize / 2f - font.width(version) / 2f, topY + ySize + 24 + font.wordWrapHeight(coords, font.width(coords)) + 5, 0x44FFFFFF, true);
+			ProgrammerTextModel.Label coords = textModel.getCoords(selectedX, selectedY, cursorX, cursorY);
+			graphics.drawString(getMinecraft().font, coords.text, left + 4, topY + ySize + 24, 0x44FFFFFF);
+			ProgrammerTextModel.Label version = textModel.getVersion();
+			graphics.drawString(getMinecraft().font, version.text, left + xSize / 2f - version.width / 2f, topY + ySize + 24 + coords.height + 5, 0x44FFFFFF, true);
 		}
 
 		if(Psi.magical) {
-			graphics.drawString(getMinecraft().font, I18n.get("psimisc.name"), left + padLeft, spellNameField.getY() + 1, color);
+			graphics.drawString(getMinecraft().font, textModel.getName().text, left + padLeft, spellNameField.getY() + 1, color);
 		} else {
-			graphics.drawString(getMinecraft().font, I18n.get("psimisc.name"), left + padLeft, spellNameField.getY() + 1, color, true);
+			graphics.drawString(getMinecraft().font, textModel.getName().text, left + padLeft, spellNameField.getY() + 1, color, true);
 		}
 
 		//Add here comment
 		if(commentEnabled) {
-			String enterCommit = I18n.get("psimisc.enter_commit");
-			graphics.drawString(getMinecraft().font, enterCommit, left + xSize / 2f - font.width(enterCommit) / 2f, commentField.getY() + 24, 0xFFFFFF, true);
+			ProgrammerTextModel.Label enterCommit = textModel.getEnterCommit();
+			graphics.drawString(getMinecraft().font, enterCommit.text, left + xSize / 2f - enterCommit.width / 2f, commentField.getY() + 24, 0xFFFFFF, true);
 
-			String semicolonLine = I18n.get("psimisc.semicolon_line");
-			graphics.drawString(getMinecraft().font, semicolonLine, left + xSize / 2f - font.width(semicolonLine) / 2f, commentField.getY() + 34, 0xFFFFFF, true);
+			ProgrammerTextModel.Label semicolonLine = textModel.getSemicolonLine();
+			graphics.drawString(getMinecraft().font, semicolonLine.text, left + xSize / 2f - semicolonLine.width / 2f, commentField.getY() + 34, 0xFFFFFF, true);
 		}
 
 		List<Component> legitTooltip = null;
@@ -444,8 +439,7 @@ public void render(GuiGraphics graphics, int mouseX, int mouseY, float partialTi
 			}
 
 			if(comment != null && !comment.isEmpty()) {
-				List<Component> commentList = Arrays.stream(comment.split(";")).map(Component::literal).collect(Collectors.toList());
-				pieceAtCursor.drawCommentText(graphics, mouseX, mouseY, commentList, this);
+				pieceAtCursor.drawCommentText(graphics, mouseX, mouseY, textModel.getCommentLines(comment), this);
 			}
 		}
 
@@ -467,6 +461,12 @@ public void render(GuiGraphics graphics, int mouseX, int mouseY, float partialTi
 
 	}
 
+	@Override
+	public void removed() {
+		super.removed();
+		gridMesh.close();
+	}
+
 	public void addButtons(List<Button> list) {
 		list.forEach(this::addRenderableWidget);
 	}
@@ -482,6 +482,10 @@ public void pushState(boolean wipeRedo) {
 	}
 
 	public void onSpellChanged(boolean nameOnly) {
+		textModel.onSpellChanged();
+		if(!nameOnly) {
+			gridMesh.invalidate();
+		}
 		if(programmer != null) {
 			if(!spectator) {
 				MessageSpellModified message = new MessageSpellModified(programmer.getBlockPos(), spell);
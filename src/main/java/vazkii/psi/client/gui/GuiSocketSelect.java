@@ -41,6 +41,7 @@
 import vazkii.psi.common.network.message.MessageChangeSocketableSlot;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 
 public class GuiSocketSelect extends Screen {
@@ -56,6 +57,24 @@ public class GuiSocketSelect extends Screen {
 	ISocketable socketable;
 	List<Integer> slots;
 	List<ResourceLocation> signs;
+	ItemStack cadStack;
+
+	// The wheel's layout, worked out whenever the socketable or its bullets change
+	float[][] fanCos;
+	float[][] fanSin;
+	float[] labelCos;
+	float[] labelSin;
+	ItemStack[] bullets;
+	String[] names;
+	String[] underlinedNames;
+	int[] nameWidths;
+	int[] underlinedNameWidths;
+	String selectedLabel;
+
+	// Where the icons are drawn this frame
+	ItemStack[] iconStacks = new ItemStack[0];
+	int[] iconXs = new int[0];
+	int[] iconYs = new int[0];
 
 	public GuiSocketSelect(ItemStack stack) {
 		super(Component.empty());
@@ -63,6 +82,7 @@ public GuiSocketSelect(ItemStack stack) {
 
 		controllerStack = ItemStack.EMPTY;
 		socketableStack = ItemStack.EMPTY;
+		cadStack = PsiAPI.getPlayerCAD(mc.player);
 
 		if(ISocketable.isSocketable(stack)) {
 			setSocketable(stack);
@@ -86,6 +106,7 @@ private static double mouseAngle(int x, int y, int mx, int my) {
 	public void setSocketable(ItemStack stack) {
 		if(stack.isEmpty()) {
 			slots = new ArrayList<>();
+			layout();
 			return;
 		}
 
@@ -93,6 +114,89 @@ public void setSocketable(ItemStack stack) {
 		socketable = ISocketable.socketable(stack);
 		slots = socketable.getRadialMenuSlots();
 		signs = socketable.getRadialMenuIcons();
+		layout();
+	}
+
+	@Override
+	protected void init() {
+		super.init();
+		// The icons are drawn at the GUI scale, which may have just changed
+		prepareIcons();
+	}
+
+	private void layout() {
+		int segments = slots.size();
+		float step = (float) Math.PI / 180;
+		float degPer = (float) Math.PI * 2 / segments;
+
+		fanCos = new float[segments][];
+		fanSin = new float[segments][];
+		labelCos = new float[segments];
+		labelSin = new float[segments];
+		bullets = new ItemStack[segments];
+		names = new String[segments];
+		underlinedNames = new String[segments];
+		nameWidths = new int[segments];
+		underlinedNameWidths = new int[segments];
+		selectedLabel = I18n.get("psimisc.selected");
+
+		for(int seg = 0; seg < segments; seg++) {
+			int points = 0;
+			for(float i = 0; i < degPer + step / 2; i += step) {
+				points++;
+			}
+
+			fanCos[seg] = new float[points];
+			fanSin[seg] = new float[points];
+			int point = 0;
+			for(float i = 0; i < degPer + step / 2; i += step) {
+				float rad = i + seg * degPer;
+				fanCos[seg][point] = Mth.cos(rad);
+				fanSin[seg][point] = Mth.sin(rad);
+				point++;
+			}
+
+			float rad = (seg + 0.5f) * degPer;
+			labelCos[seg] = Mth.cos(rad);
+			labelSin[seg] = Mth.sin(rad);
+
+			ItemStack bullet = socketable.getBulletInSocket(seg);
+			bullets[seg] = bullet.copy();
+			if(!bullet.isEmpty()) {
+				String name = bullet.getHoverName().getString();
+				names[seg] = ChatFormatting.RESET + name;
+				underlinedNames[seg] = ChatFormatting.UNDERLINE + name;
+				nameWidths[seg] = mc.font.width(names[seg]);
+				underlinedNameWidths[seg] = mc.font.width(underlinedNames[seg]);
+			}
+		}
+
+		int icons = segments + (controlledStacks == null ? 0 : controlledStacks.length);
+		iconStacks = new ItemStack[icons];
+		iconXs = new int[icons];
+		iconYs = new int[icons];
+		prepareIcons();
+	}
+
+	private void prepareIcons() {
+		if(bullets == null) {
+			return;
+		}
+
+		List<ItemStack> stacks = new ArrayList<>(Arrays.asList(bullets));
+		if(controlledStacks != null) {
+			stacks.addAll(Arrays.asList(controlledStacks));
+		}
+		SocketIconAtlas.prepare(stacks);
+	}
+
+	private boolean bulletsChanged() {
+		for(int seg = 0; seg < bullets.length; seg++) {
+			if(!ItemStack.matches(bullets[seg], socketable.getBulletInSocket(seg))) {
+				return true;
+			}
+		}
+		return false;
 	}
 
 	@Override
@@ -108,12 +212,13 @@ public void render(GuiGraphics graphics, int mx, int my, float delta) {
 		double angle = mouseAngle(x, y, mx, my);
 
 		int segments = slots.size();
-		float step = (float) Math.PI / 180;
 		float degPer = (float) Math.PI * 2 / segments;
 
-		ItemStack cadStack = PsiAPI.getPlayerCAD(Minecraft.getInstance().player);
 		slotSelected = -1;
 
+		int cadColor = cadStack.isEmpty() ? 0 : Psi.proxy.getColorForCAD(cadStack);
+		int selectedSlot = segments == 0 ? -1 : socketable.getSelectedSlot();
+
 		Tesselator tess = Tesselator.getInstance();
 		RenderSystem.disableCull();
 		//RenderSystem.disableTexture();  TODO(Kamefrede): 1.20 figure out what this breaks
@@ -126,7 +231,7 @@ public void render(GuiGraphics graphics, int mx, int my, float delta) {
 			for(int seg = 0; seg < segments; seg++) {
 				boolean mouseInSector = degPer * seg < angle && angle < degPer * (seg + 1);
 				float radius = Math.max(0F, Math.min((timeIn - ((float) seg * 6F / (float) segments)) * 40F, (float) maxRadius));
-				if(mouseInSector || seg == socketable.getSelectedSlot()) {
+				if(mouseInSector || seg == selectedSlot) {
 					radius *= 1.025f;
 				}
 
@@ -147,19 +252,17 @@ public void render(GuiGraphics graphics, int mx, int my, float delta) {
 					slotSelected = seg;
 
 					if(!cadStack.isEmpty()) {
-						int color = Psi.proxy.getColorForCAD(cadStack);
-						r = PsiRenderHelper.r(color);
-						g = PsiRenderHelper.g(color);
-						b = PsiRenderHelper.b(color);
+						r = PsiRenderHelper.r(cadColor);
+						g = PsiRenderHelper.g(cadColor);
+						b = PsiRenderHelper.b(cadColor);
 					} else {
 						r = g = b = 0xFF;
 					}
-				} else if(seg == socketable.getSelectedSlot()) {
+				} else if(seg == selectedSlot) {
 					if(!cadStack.isEmpty()) {
-						int color = Psi.proxy.getColorForCAD(cadStack);
-						r = 0xFF - PsiRenderHelper.r(color);
-						g = 0xFF - PsiRenderHelper.g(color);
-						b = 0xFF - PsiRenderHelper.b(color);
+						r = 0xFF - PsiRenderHelper.r(cadColor);
+						g = 0xFF - PsiRenderHelper.g(cadColor);
+						b = 0xFF - PsiRenderHelper.b(cadColor);
 					} else {
 						r = 0x00;
 						g = 0xFF;
@@ -167,10 +270,11 @@ public void render(GuiGraphics graphics, int mx, int my, float delta) {
 					}
 				}
 
-				for(float i = 0; i < degPer + step / 2; i += step) {
-					float rad = i + seg * degPer;
-					float xp = x + Mth.cos(rad) * radius;
-					float yp = y + Mth.sin(rad) * radius;
+				float[] cos = fanCos[seg];
+				float[] sin = fanSin[seg];
+				for(int i = 0; i < cos.length; i++) {
+					float xp = x + cos[i] * radius;
+					float yp = y + sin[i] * radius;
 
 					if(i == 0) {
 						buf.addVertex(xp, yp, 0).setColor(r, g, b, a);
@@ -182,29 +286,32 @@ public void render(GuiGraphics graphics, int mx, int my, float delta) {
 		}
 		// RenderSystem.enableTexture(); TODO(Kamefrede): 1.20 figure out what this breaks
 
+		int icons = 0;
 		for(int seg = 0; seg < segments; seg++) {
 			boolean mouseInSector = degPer * seg < angle && angle < degPer * (seg + 1);
 			float radius = Math.max(0F, Math.min((timeIn - ((float) seg * 6F / (float) segments)) * 40F, (float) maxRadius));
-			if(mouseInSector || seg == socketable.getSelectedSlot()) {
+			if(mouseInSector || seg == selectedSlot) {
 				radius *= 1.025f;
 			}
 
-			float rad = (seg + 0.5f) * degPer;
-			float xp = x + Mth.cos(rad) * radius;
-			float yp = y + Mth.sin(rad) * radius;
+			float xp = x + labelCos[seg] * radius;
+			float yp = y + labelSin[seg] * radius;
 
-			ItemStack stack = socketable.getBulletInSocket(seg);
+			ItemStack stack = bullets[seg];
 			if(!stack.isEmpty()) {
 				float xsp = xp - 4;
 				float ysp = yp;
-				String name = (mouseInSector ? ChatFormatting.UNDERLINE : ChatFormatting.RESET) + stack.getHoverName().getString();
-				int width = font.width(name);
+				String name = mouseInSector ? underlinedNames[seg] : names[seg];
+				int width = mouseInSector ? underlinedNameWidths[seg] : nameWidths[seg];
 
 				double mod = 0.6;
 				int xdp = (int) ((xp - x) * mod + x);
 				int ydp = (int) ((yp - y) * mod + y);
 
-				graphics.renderFakeItem(stack, xdp - 8, ydp - 8);
+				iconStacks[icons] = stack;
+				iconXs[icons] = xdp - 8;
+				iconYs[icons] = ydp - 8;
+				icons++;
 
 				if(xsp < x) {
 					xsp -= width - 8;
@@ -214,12 +321,12 @@ public void render(GuiGraphics graphics, int mx, int my, float delta) {
 				}
 
 				graphics.drawString(this.font, name, xsp, ysp, 0xFFFFFF, true);
-				if(seg == socketable.getSelectedSlot()) {
+				if(seg == selectedSlot) {
 					int color = 0x00FF00;
 					if(!cadStack.isEmpty()) {
-						color = 0xFF0000 - Psi.proxy.getColorForCAD(cadStack);
+						color = 0xFF0000 - cadColor;
 					}
-					graphics.drawString(this.font, I18n.get("psimisc.selected"), xsp + width / 4, ysp + font.lineHeight, color, true);
+					graphics.drawString(this.font, selectedLabel, xsp + width / 4, ysp + font.lineHeight, color, true);
 				}
 
 				mod = 0.8;
@@ -250,11 +357,25 @@ public void render(GuiGraphics graphics, int mx, int my, float delta) {
 				ItemStack stack = controlledStacks[i];
 				int rx = xs + i * 18;
 				float ry = ys + (-yoff * shift);
-				graphics.renderFakeItem(stack, rx, (int) ry);
+				iconStacks[icons] = stack;
+				iconXs[icons] = rx;
+				iconYs[icons] = (int) ry;
+				icons++;
 			}
 
 		}
 
+		// Icons missing from the atlas, such as right after it filled up, still get drawn the slow way
+		if(!SocketIconAtlas.draw(graphics, iconStacks, iconXs, iconYs, icons)) {
+			for(int i = 0; i < icons; i++) {
+				if(!SocketIconAtlas.contains(iconStacks[i])) {
+					graphics.renderFakeItem(iconStacks[i], iconXs[i], iconYs[i]);
+				}
+			}
+		}
+		RenderSystem.enableBlend();
+		RenderSystem.blendFuncSeparate(GL11.GL_SRC_ALPHA, GL11.GL_ONE_MINUS_SRC_ALPHA, 1, 0);
+
 		if(!socketableStack.isEmpty()) {
 			graphics.pose().pushPose();
 			graphics.pose().scale(scale, scale, scale);
@@ -294,6 +415,10 @@ public boolean mouseClicked(double mouseX, double mouseY, int mouseButton) {
 	@Override
 	public void tick() {
 		super.tick();
+		if(!socketableStack.isEmpty() && bulletsChanged()) {
+			setSocketable(socketableStack);
+		}
+
 		if(!isKeyDown(KeybindHandler.keybind)) {
 			mc.setScreen(null);
 			if(slotSelected != -1) {
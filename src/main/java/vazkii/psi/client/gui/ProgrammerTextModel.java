@@ -0,0 +1,186 @@
+/*
+ * This class is distributed as part of the Psi Mod.
+ * Get the Source Code in github:
+ * https://github.com/Vazkii/Psi
+ *
+ * Psi is Open Source and distributed under the
+ * Psi License: https://psi.vazkii.net/license.php
+ */
+package vazkii.psi.client.gui;
+
+import net.minecraft.ChatFormatting;
+import net.minecraft.client.gui.Font;
+import net.minecraft.client.gui.screens.Screen;
+import net.minecraft.client.resources.language.I18n;
+import net.minecraft.locale.Language;
+import net.minecraft.network.chat.Component;
+import net.neoforged.api.distmarker.Dist;
+import net.neoforged.api.distmarker.OnlyIn;
+import net.neoforged.fml.ModList;
+
+import vazkii.psi.api.spell.SpellGrid;
+import vazkii.psi.api.spell.SpellPiece;
+import vazkii.psi.common.core.handler.ConfigHandler;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.stream.Collectors;
+
+/**
+ * The text the programmer draws every frame, translated and measured only when what it shows changes: the cursor,
+ * the selection, the spell, the keys held for tooltips or the language.
+ */
+@OnlyIn(Dist.CLIENT)
+public class ProgrammerTextModel {
+
+	private final Font font;
+
+	private Label version;
+
+	private Language language;
+	private Label spectator, wip, name, enterCommit, semicolonLine;
+
+	private int coordsKey = Integer.MIN_VALUE;
+	private Label coords;
+
+	private String selectedKey;
+	private Label selectedName;
+
+	private int spellVersion;
+	private SpellPiece tooltipPiece;
+	private int tooltipKey;
+	private List<Component> tooltip = Collections.emptyList();
+
+	private String comment;
+	private List<Component> commentLines = Collections.emptyList();
+
+	public ProgrammerTextModel(Font font) {
+		this.font = font;
+	}
+
+	/**
+	 * Drops everything that depends on the spell, to be called whenever it changes.
+	 */
+	public void onSpellChanged() {
+		spellVersion++;
+	}
+
+	public Label getVersion() {
+		if(version == null) {
+			version = new Label("Psi " + ModList.get().getModContainerById("psi").get().getModInfo().getVersion().toString());
+		}
+		return version;
+	}
+
+	public Label getSpectator() {
+		checkLanguage();
+		return spectator;
+	}
+
+	public Label getWip() {
+		checkLanguage();
+		return wip;
+	}
+
+	public Label getName() {
+		checkLanguage();
+		return name;
+	}
+
+	public Label getEnterCommit() {
+		checkLanguage();
+		return enterCommit;
+	}
+
+	public Label getSemicolonLine() {
+		checkLanguage();
+		return semicolonLine;
+	}
+
+	public Label getCoords(int selectedX, int selectedY, int cursorX, int cursorY) {
+		checkLanguage();
+		boolean letters = ConfigHandler.CLIENT.changeGridCoordinatesToLetterNumber.get();
+		boolean hasCursor = SpellGrid.exists(cursorX, cursorY);
+		// Every coordinate fits in 5 bits, with -1 wrapping around to 31
+		int key = (selectedX & 31) | (selectedY & 31) << 5 | (hasCursor ? (cursorX & 31) << 10 | (cursorY & 31) << 15 : 1 << 20) | (letters ? 1 << 21 : 0);
+		if(key != coordsKey) {
+			coordsKey = key;
+			if(hasCursor) {
+				coords = new Label(I18n.get("psimisc.programmer_coords", GuiProgrammer.convertIntToLetter(selectedX + 1), selectedY + 1, GuiProgrammer.convertIntToLetter(cursorX + 1), cursorY + 1));
+			} else {
+				coords = new Label(I18n.get("psimisc.programmer_coords_no_cursor", GuiProgrammer.convertIntToLetter(selectedX + 1), selectedY + 1));
+			}
+		}
+		return coords;
+	}
+
+	public Label getPieceName(SpellPiece piece) {
+		checkLanguage();
+		String key = piece.getUnlocalizedName();
+		if(!key.equals(selectedKey)) {
+			selectedKey = key;
+			selectedName = new Label(I18n.get(key));
+		}
+		return selectedName;
+	}
+
+	/**
+	 * Gets the tooltip of the piece, built again only when the piece, the spell or the keys that expand it changed.
+	 */
+	public List<Component> getTooltip(SpellPiece piece) {
+		checkLanguage();
+		int key = Objects.hash(spellVersion, piece.getDrawStateHash(), Screen.hasShiftDown(), Screen.hasControlDown());
+		if(piece != tooltipPiece || key != tooltipKey) {
+			tooltipPiece = piece;
+			tooltipKey = key;
+			List<Component> lines = new ArrayList<>();
+			piece.getTooltip(lines);
+			tooltip = Collections.unmodifiableList(lines);
+		}
+		return tooltip;
+	}
+
+	public List<Component> getCommentLines(String comment) {
+		if(!comment.equals(this.comment)) {
+			this.comment = comment;
+			commentLines = Arrays.stream(comment.split(";")).map(Component::literal).collect(Collectors.toUnmodifiableList());
+		}
+		return commentLines;
+	}
+
+	private void checkLanguage() {
+		// Reloading resources swaps the instance even when the selected language stays the same
+		Language current = Language.getInstance();
+		if(current == language) {
+			return;
+		}
+
+		language = current;
+		spectator = new Label(ChatFormatting.RED + I18n.get("psimisc.spectator"));
+		wip = new Label(ChatFormatting.GOLD + I18n.get("psimisc.wip"));
+		name = new Label(I18n.get("psimisc.name"));
+		enterCommit = new Label(I18n.get("psimisc.enter_commit"));
+		semicolonLine = new Label(I18n.get("psimisc.semicolon_line"));
+		coordsKey = Integer.MIN_VALUE;
+		selectedKey = null;
+		tooltipPiece = null;
+	}
+
+	/**
+	 * A translated string along with its width in the programmer's font.
+	 */
+	public final class Label {
+		public final String text;
+		public final int width;
+		public final int height;
+
+		private Label(String text) {
+			this.text = text;
+			this.width = font.width(text);
+			this.height = font.wordWrapHeight(text, width);
+		}
+	}
+}
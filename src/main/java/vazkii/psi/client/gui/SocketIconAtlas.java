@@ -0,0 +1,208 @@
+/*
+ * This class is distributed as part of the Psi Mod.
+ * Get the Source Code in github:
+ * https://github.com/Vazkii/Psi
+ *
+ * Psi is Open Source and distributed under the
+ * Psi License: https://psi.vazkii.net/license.php
+ */
+package vazkii.psi.client.gui;
+
+import com.mojang.blaze3d.pipeline.TextureTarget;
+import com.mojang.blaze3d.platform.GlStateManager;
+import com.mojang.blaze3d.platform.Lighting;
+import com.mojang.blaze3d.systems.RenderSystem;
+import com.mojang.blaze3d.vertex.BufferBuilder;
+import com.mojang.blaze3d.vertex.BufferUploader;
+import com.mojang.blaze3d.vertex.DefaultVertexFormat;
+import com.mojang.blaze3d.vertex.Tesselator;
+import com.mojang.blaze3d.vertex.VertexFormat;
+import com.mojang.blaze3d.vertex.VertexSorting;
+
+import it.unimi.dsi.fastutil.objects.Object2IntLinkedOpenCustomHashMap;
+
+import net.minecraft.client.Minecraft;
+import net.minecraft.client.gui.GuiGraphics;
+import net.minecraft.client.renderer.GameRenderer;
+import net.minecraft.server.packs.resources.ResourceManagerReloadListener;
+import net.minecraft.world.item.ItemStack;
+import net.minecraft.world.item.ItemStackLinkedSet;
+import net.neoforged.api.distmarker.Dist;
+import net.neoforged.api.distmarker.OnlyIn;
+import net.neoforged.bus.api.SubscribeEvent;
+import net.neoforged.fml.common.EventBusSubscriber;
+import net.neoforged.neoforge.client.event.RegisterClientReloadListenersEvent;
+
+import org.joml.Matrix4f;
+import org.joml.Matrix4fStack;
+import org.lwjgl.opengl.GL11;
+
+import vazkii.psi.common.lib.LibMisc;
+
+/**
+ * Item icons drawn once into a texture at the current GUI scale, so the socket wheel can draw all of its bullets as
+ * textured quads in one call instead of rendering their item models every frame. The least recently used icons
+ * make room for new ones once the texture is full.
+ * <p>
+ * Icons are snapshots, so animated item textures don't move in them.
+ */
+@OnlyIn(Dist.CLIENT)
+@EventBusSubscriber(value = Dist.CLIENT, modid = LibMisc.MOD_ID)
+public final class SocketIconAtlas {
+
+	public static final int ICON_SIZE = 16;
+
+	private static final int COLUMNS = 8;
+	private static final int SLOTS = COLUMNS * COLUMNS;
+
+	private static final Object2IntLinkedOpenCustomHashMap<ItemStack> icons = new Object2IntLinkedOpenCustomHashMap<>(ItemStackLinkedSet.TYPE_AND_TAG);
+	private static TextureTarget target;
+	private static int scale;
+
+	static {
+		icons.defaultReturnValue(-1);
+	}
+
+	@SubscribeEvent
+	public static void registerReloadListener(RegisterClientReloadListenersEvent event) {
+		// Item models and textures may have changed, so every icon is drawn again when next needed
+		event.registerReloadListener((ResourceManagerReloadListener) manager -> icons.clear());
+	}
+
+	/**
+	 * Makes sure the icons of the stacks are in the texture, drawing the missing ones. This binds another render
+	 * target, so it must not be called while a frame is being drawn.
+	 */
+	public static void prepare(Iterable<ItemStack> stacks) {
+		int guiScale = (int) Minecraft.getInstance().getWindow().getGuiScale();
+		if(target == null || guiScale != scale) {
+			if(target != null) {
+				target.destroyBuffers();
+			}
+			scale = guiScale;
+			target = new TextureTarget(COLUMNS * ICON_SIZE * scale, COLUMNS * ICON_SIZE * scale, true, Minecraft.ON_OSX);
+			target.setClearColor(0F, 0F, 0F, 0F);
+			target.clear(Minecraft.ON_OSX);
+			icons.clear();
+		}
+
+		GuiGraphics graphics = null;
+		for(ItemStack stack : stacks) {
+			if(stack.isEmpty() || icons.getAndMoveToLast(stack) != -1) {
+				continue;
+			}
+
+			if(graphics == null) {
+				graphics = begin();
+			}
+
+			int slot = icons.size() < SLOTS ? icons.size() : icons.removeFirstInt();
+			icons.put(stack.copyWithCount(1), slot);
+			drawIcon(graphics, stack, slot);
+		}
+
+		if(graphics != null) {
+			end(graphics);
+		}
+	}
+
+	public static boolean contains(ItemStack stack) {
+		return stack.isEmpty() || icons.containsKey(stack);
+	}
+
+	/**
+	 * Draws the icons of the stacks at the given GUI positions. Stacks that aren't in the texture are left for the
+	 * caller to draw some other way.
+	 *
+	 * @return whether every non empty stack was drawn
+	 */
+	public static boolean draw(GuiGraphics graphics, ItemStack[] stacks, int[] xs, int[] ys, int count) {
+		if(target == null) {
+			return false;
+		}
+
+		graphics.flush();
+		RenderSystem.setShader(GameRenderer::getPositionTexShader);
+		RenderSystem.setShaderTexture(0, target.getColorTextureId());
+		RenderSystem.enableBlend();
+		// Icons are drawn over a transparent texture, so their colors come out premultiplied by alpha
+		RenderSystem.blendFunc(GlStateManager.SourceFactor.ONE, GlStateManager.DestFactor.ONE_MINUS_SRC_ALPHA);
+
+		Matrix4f pose = graphics.pose().last().pose();
+		BufferBuilder buf = Tesselator.getInstance().begin(VertexFormat.Mode.QUADS, DefaultVertexFormat.POSITION_TEX);
+		boolean all = true;
+		boolean any = false;
+		for(int i = 0; i < count; i++) {
+			ItemStack stack = stacks[i];
+			if(stack.isEmpty()) {
+				continue;
+			}
+
+			int slot = icons.getInt(stack);
+			if(slot == -1) {
+				all = false;
+				continue;
+			}
+
+			// The texture's rows start at the bottom
+			float minU = (float) (slot % COLUMNS) / COLUMNS;
+			float maxU = minU + 1F / COLUMNS;
+			float maxV = 1F - (float) (slot / COLUMNS) / COLUMNS;
+			float minV = maxV - 1F / COLUMNS;
+			int x = xs[i];
+			int y = ys[i];
+			buf.addVertex(pose, x, y, 0).setUv(minU, maxV);
+			buf.addVertex(pose, x, y + ICON_SIZE, 0).setUv(minU, minV);
+			buf.addVertex(pose, x + ICON_SIZE, y + ICON_SIZE, 0).setUv(maxU, minV);
+			buf.addVertex(pose, x + ICON_SIZE, y, 0).setUv(maxU, maxV);
+			any = true;
+		}
+
+		if(any) {
+			BufferUploader.drawWithShader(buf.buildOrThrow());
+		} else {
+			buf.build();
+		}
+		RenderSystem.defaultBlendFunc();
+		return all;
+	}
+
+	private static GuiGraphics begin() {
+		Minecraft mc = Minecraft.getInstance();
+		target.bindWrite(true);
+
+		float size = COLUMNS * ICON_SIZE;
+		RenderSystem.backupProjectionMatrix();
+		RenderSystem.setProjectionMatrix(new Matrix4f().setOrtho(0F, size, size, 0F, 1000F, 21000F), VertexSorting.ORTHOGRAPHIC_Z);
+		Matrix4fStack modelView = RenderSystem.getModelViewStack();
+		modelView.pushMatrix();
+		modelView.translation(0F, 0F, -11000F);
+		RenderSystem.applyModelViewMatrix();
+		Lighting.setupFor3DItems();
+
+		return new GuiGraphics(mc, mc.renderBuffers().bufferSource());
+	}
+
+	private static void drawIcon(GuiGraphics graphics, ItemStack stack, int slot) {
+		int x = slot % COLUMNS * ICON_SIZE;
+		int y = slot / COLUMNS * ICON_SIZE;
+		int pixels = ICON_SIZE * scale;
+
+		// Only wipe the slot, the rest of the texture holds other icons
+		RenderSystem.enableScissor(x * scale, target.height - y * scale - pixels, pixels, pixels);
+		RenderSystem.clearColor(0F, 0F, 0F, 0F);
+		RenderSystem.clear(GL11.GL_COLOR_BUFFER_BIT | GL11.GL_DEPTH_BUFFER_BIT, Minecraft.ON_OSX);
+		RenderSystem.disableScissor();
+
+		graphics.renderFakeItem(stack, x, y);
+		graphics.flush();
+	}
+
+	private static void end(GuiGraphics graphics) {
+		graphics.flush();
+		RenderSystem.getModelViewStack().popMatrix();
+		RenderSystem.applyModelViewMatrix();
+		RenderSystem.restoreProjectionMatrix();
+		Minecraft.getInstance().getMainRenderTarget().bindWrite(true);
+	}
+}
@@ -8,6 +8,9 @@
  */
 package vazkii.psi.client.gui.widget;
 
+import it.unimi.dsi.fastutil.objects.Object2IntMap;
+import it.unimi.dsi.fastutil.objects.Object2IntOpenHashMap;
+
 import net.minecraft.client.gui.GuiGraphics;
 import net.minecraft.client.gui.components.AbstractWidget;
 import net.minecraft.client.gui.components.Button;
@@ -25,7 +28,6 @@
 
 import vazkii.psi.api.PsiAPI;
 import vazkii.psi.api.spell.EnumPieceType;
-import vazkii.psi.api.spell.SpellParam;
 import vazkii.psi.api.spell.SpellPiece;
 import vazkii.psi.api.spell.programmer.ProgrammerPopulateEvent;
 import vazkii.psi.client.gui.GuiProgrammer;
@@ -49,6 +51,14 @@ public class PiecePanelWidget extends AbstractWidget implements GuiEventListener
 	public EditBox searchField;
 	public int page = 0;
 
+	private final List<GuiButtonSpellPiece> pieceButtons = new ArrayList<>();
+	private final List<GuiButtonPage> pageButtons = new ArrayList<>();
+	private GuiButtonSpellPiece constantButton;
+
+	private List<PieceSearchIndex.Term> lastTerms;
+	private List<GuiButtonSpellPiece> lastMatches;
+	private int lastGeneration;
+
 	public PiecePanelWidget(int x, int y, int width, int height, String message, GuiProgrammer programmer) {
 		super(x, y, width, height, Component.nullToEmpty(message));
 		this.parent = programmer;
@@ -175,7 +185,11 @@ public void populatePanelButtons() {
 				spellPieceButton.visible = false;
 				spellPieceButton.active = false;
 				panelButtons.add(spellPieceButton);
+				pieceButtons.add(spellPieceButton);
 				visibleButtons.add(spellPieceButton);
+				if(constantButton == null && shownPiece instanceof PieceConstantNumber) {
+					constantButton = spellPieceButton;
+				}
 			}
 
 		}
@@ -204,6 +218,9 @@ public void populatePanelButtons() {
 		right.active = false;
 		panelButtons.add(left);
 		panelButtons.add(right);
+		pageButtons.add(left);
+		pageButtons.add(right);
+		lastTerms = null;
 		parent.addButtons(panelButtons);
 	}
 
@@ -217,60 +234,62 @@ public void updatePanelButtons() {
 			}
 		});
 
-		HashMap<Class<? extends SpellPiece>, Integer> pieceRankings = new HashMap<>();
-
 		String text = searchField.getValue().toLowerCase(Locale.ROOT).trim();
+		List<PieceSearchIndex.Term> terms = PieceSearchIndex.parse(text);
 		boolean noSearchTerms = text.isEmpty();
 
-		parent.getButtons().forEach(button -> {
-			if(button instanceof GuiButtonSpellPiece guiButtonSpellPiece) {
-				SpellPiece piece = guiButtonSpellPiece.getPiece();
-
-				if(noSearchTerms) {
-					visibleButtons.add(guiButtonSpellPiece);
-				} else {
-					int rank = ranking(text, piece);
-					if(rank > 0) {
-						pieceRankings.put(piece.getClass(), rank);
-						visibleButtons.add(guiButtonSpellPiece);
-					}
-				}
-			} else if(button instanceof GuiButtonPage page) {
-				if(page.isRight() && this.page < getPageCount() - 1) {
-					page.setX(getX() + width - 22);
-					page.setY(getY() + height - 15);
-					page.visible = true;
-					page.active = true;
-
-				} else if(!page.isRight() && this.page > 0) {
-					page.setX(getX() + 4);
-					page.setY(getY() + height - 15);
-					page.visible = true;
-					page.active = true;
-				}
+		// Typing more only narrows down the last search, so only its matches have to be looked at again
+		int generation = PieceSearchIndex.getGeneration();
+		List<GuiButtonSpellPiece> candidates = pieceButtons;
+		if(lastTerms != null && lastGeneration == generation && PieceSearchIndex.refines(terms, lastTerms)) {
+			candidates = lastMatches;
+		}
+
+		Object2IntMap<GuiButtonSpellPiece> pieceRankings = new Object2IntOpenHashMap<>();
+		List<GuiButtonSpellPiece> matches = new ArrayList<>();
+		for(GuiButtonSpellPiece button : candidates) {
+			PieceSearchIndex.Entry entry = PieceSearchIndex.get(button.getPiece());
+			int rank = PieceSearchIndex.rank(terms, entry);
+			if(rank < 0) {
+				continue;
 			}
-		});
 
-		Comparator<GuiButtonSpellPiece> comparator;
+			matches.add(button);
+			if(noSearchTerms) {
+				visibleButtons.add(button);
+			} else if(rank > 0) {
+				pieceRankings.put(button, rank);
+				visibleButtons.add(button);
+			}
+		}
+		lastTerms = terms;
+		lastMatches = matches;
+		lastGeneration = generation;
 
-		if(noSearchTerms) {
-			comparator = Comparator.comparing(GuiButtonSpellPiece::getPieceSortingName);
-		} else {
-			comparator = Comparator.comparingInt((p) -> -pieceRankings.get(p.getPiece().getClass()));
-			comparator = comparator.thenComparing(GuiButtonSpellPiece::getPieceSortingName);
+		Comparator<GuiButtonSpellPiece> comparator = Comparator.comparing(button -> PieceSearchIndex.get(button.getPiece()).sortingName);
+		if(!noSearchTerms) {
+			comparator = Comparator.<GuiButtonSpellPiece>comparingInt(pieceRankings::getInt).reversed().thenComparing(comparator);
 		}
 
 		visibleButtons.sort(comparator);
-		if((!text.isEmpty() && text.length() <= 5 && (text.matches("^-?\\d+(?:\\.\\d*)?") || text.matches("^-?\\d*(?:\\.\\d+)?")))) {
-			GuiButtonSpellPiece constantPiece = (GuiButtonSpellPiece) parent.getButtons().stream().filter(el -> {
-				if(el instanceof GuiButtonSpellPiece) {
-					return ((GuiButtonSpellPiece) el).getPiece() instanceof PieceConstantNumber;
-				}
-				return false;
-			}).findFirst().orElse(null);
-			visibleButtons.remove(constantPiece);
-			((PieceConstantNumber) constantPiece.getPiece()).valueStr = text;
-			visibleButtons.addFirst(constantPiece);
+		if(constantButton != null && (!text.isEmpty() && text.length() <= 5 && (text.matches("^-?\\d+(?:\\.\\d*)?") || text.matches("^-?\\d*(?:\\.\\d+)?")))) {
+			visibleButtons.remove(constantButton);
+			((PieceConstantNumber) constantButton.getPiece()).valueStr = text;
+			visibleButtons.addFirst(constantButton);
+		}
+
+		for(GuiButtonPage button : pageButtons) {
+			if(button.isRight() && this.page < getPageCount() - 1) {
+				button.setX(getX() + width - 22);
+				button.setY(getY() + height - 15);
+				button.visible = true;
+				button.active = true;
+			} else if(!button.isRight() && this.page > 0) {
+				button.setX(getX() + 4);
+				button.setY(getY() + height - 15);
+				button.visible = true;
+				button.active = true;
+			}
 		}
 
 		int start = page * PIECES_PER_PAGE;
@@ -280,11 +299,7 @@ public void updatePanelButtons() {
 				break;
 			}
 
-			GuiButtonSpellPiece piece = visibleButtons.get(i);
-			GuiButtonSpellPiece buttonSpellPiece = (GuiButtonSpellPiece) parent.getButtons().stream().filter(el -> el.equals(piece)).findFirst().orElse(null);
-			if(buttonSpellPiece == null) {
-				continue;
-			}
+			GuiButtonSpellPiece buttonSpellPiece = visibleButtons.get(i);
 			buttonSpellPiece.setX(getX() + 5 + c % 5 * 18);
 			buttonSpellPiece.setY(getY() + 20 + c / 5 * 18);
 			buttonSpellPiece.visible = true;
@@ -306,128 +321,6 @@ public boolean mouseClicked(double mouseX, double mouseY, int mouseButton) {
 		return false;
 	}
 
-	/**
-	 * If a piece has a ranking of <= 0, it's excluded from the search.
-	 */
-
-	private int ranking(String token, SpellPiece p) {
-		int rank = 0;
-		String name = I18n.get(p.getUnlocalizedName()).toLowerCase(Locale.ROOT);
-		String desc = I18n.get(p.getUnlocalizedDesc()).toLowerCase(Locale.ROOT);
-
-		for(String nameToken : token.split("\\s+")) {
-			if(nameToken.isEmpty()) {
-				continue;
-			}
-
-			if(nameToken.startsWith("in:")) {
-				String clippedToken = nameToken.substring(3);
-				if(clippedToken.isEmpty()) {
-					continue;
-				}
-
-				int maxRank = 0;
-				for(SpellParam<?> param : p.params.values()) {
-					String type = param.getRequiredTypeString().getString().toLowerCase(Locale.ROOT);
-					maxRank = Math.max(maxRank, rankTextToken(type, clippedToken));
-				}
-
-				if(maxRank <= 0) {
-					return 0;
-				}
-				rank += maxRank;
-			} else if(nameToken.startsWith("out:")) {
-				String clippedToken = nameToken.substring(4);
-				if(clippedToken.isEmpty()) {
-					continue;
-				}
-
-				String type = p.getEvaluationTypeString().getString().toLowerCase(Locale.ROOT);
-
-				if(rankTextToken(type, clippedToken) <= 0) {
-					return 0;
-				}
-				rank += rankTextToken(type, clippedToken);
-			} else if(nameToken.startsWith("@")) {
-				String clippedToken = nameToken.substring(1);
-				if(clippedToken.isEmpty()) {
-					continue;
-				}
-
-				ResourceLocation mod = PsiAPI.getSpellPieceKey(p.getClass());
-				if(mod != null) {
-					int modRank = rankTextToken(mod.getNamespace(), clippedToken);
-					if(modRank <= 0) {
-						return 0;
-					}
-					rank += modRank;
-				} else {
-					return 0;
-				}
-			} else {
-				int nameRank = rankTextToken(name, nameToken);
-				rank += nameRank;
-				if(nameRank <= 0 && rankTextToken(desc, nameToken) <= 0) {
-					return 0;
-				} else {
-					rank += rankTextToken(desc, nameToken) / 2;
-				}
-			}
-		}
-
-		return rank;
-	}
-
-	private int rankTextToken(String haystack, String token) {
-		if(token.isEmpty()) {
-			return 0;
-		}
-
-		if(token.startsWith("_")) {
-			String clippedToken = token.substring(1);
-			if(clippedToken.isEmpty()) {
-				return 0;
-			}
-			if(haystack.endsWith(clippedToken)) {
-				if(!Character.isLetterOrDigit(haystack.charAt(haystack.length() - clippedToken.length() - 1))) {
-					return clippedToken.length() * 3 / 2;
-				}
-				return clippedToken.length();
-			}
-		} else if(token.endsWith("_")) {
-			String clippedToken = token.substring(0, token.length() - 1);
-			if(clippedToken.isEmpty()) {
-				return 0;
-			}
-			if(haystack.startsWith(clippedToken)) {
-				if(haystack.length() >= clippedToken.length() + 1 && !Character.isLetterOrDigit(haystack.charAt(clippedToken.length() + 1))) {
-					return clippedToken.length() * 2;
-				}
-				return clippedToken.length();
-			}
-		} else {
-			if(token.startsWith("has:")) {
-				token = token.substring(4);
-			}
-
-			int idx = haystack.indexOf(token);
-			if(idx >= 0) {
-				int multiplier = 2;
-				if(idx == 0 || !Character.isLetterOrDigit(haystack.charAt(idx - 1))) {
-					multiplier += 2;
-				}
-				if(idx + token.length() + 1 >= haystack.length() ||
-						!Character.isLetterOrDigit(haystack.charAt(idx + token.length() + 1))) {
-					multiplier++;
-				}
-
-				return token.length() * multiplier / 2;
-			}
-		}
-
-		return 0;
-	}
-
 	public void closePanel() {
 		panelEnabled = false;
 		parent.getButtons().forEach(button -> {
@@ -0,0 +1,268 @@
+/*
+ * This class is distributed as part of the Psi Mod.
+ * Get the Source Code in github:
+ * https://github.com/Vazkii/Psi
+ *
+ * Psi is Open Source and distributed under the
+ * Psi License: https://psi.vazkii.net/license.php
+ */
+package vazkii.psi.client.gui.widget;
+
+import net.minecraft.client.resources.language.I18n;
+import net.minecraft.locale.Language;
+import net.minecraft.resources.ResourceLocation;
+import net.neoforged.api.distmarker.Dist;
+import net.neoforged.api.distmarker.OnlyIn;
+
+import org.jetbrains.annotations.Nullable;
+
+import vazkii.psi.api.PsiAPI;
+import vazkii.psi.api.spell.SpellParam;
+import vazkii.psi.api.spell.SpellPiece;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * The lowercase names, descriptions and type signatures of spell pieces, translated once per language load, along
+ * with the parsing and ranking of piece panel searches against them.
+ * <p>
+ * A search is a list of whitespace separated terms that all have to match:
+ * <ul>
+ * <li>{@code in:type}, {@code accepts:type} or {@code accepts type} match a parameter type</li>
+ * <li>{@code out:type}, {@code returns:type} or {@code returns type} match the evaluation type</li>
+ * <li>{@code @mod} matches the mod the piece comes from</li>
+ * <li>anything else matches the name or description</li>
+ * </ul>
+ * Needles starting or ending with {@code _} only match the end or start of the text.
+ */
+@OnlyIn(Dist.CLIENT)
+public final class PieceSearchIndex {
+
+	public static final int FIELD_TEXT = 0, FIELD_INPUT = 1, FIELD_OUTPUT = 2, FIELD_MOD = 3;
+
+	private static final Map<Class<? extends SpellPiece>, Entry> entries = new HashMap<>();
+	private static Language language;
+	private static int generation;
+
+	public static Entry get(SpellPiece piece) {
+		checkLanguage();
+		Entry entry = entries.get(piece.getClass());
+		if(entry == null) {
+			entry = new Entry(piece);
+			entries.put(piece.getClass(), entry);
+		}
+		return entry;
+	}
+
+	/**
+	 * Changes whenever the index is rebuilt, so results computed from an older index can be thrown out.
+	 */
+	public static int getGeneration() {
+		checkLanguage();
+		return generation;
+	}
+
+	private static void checkLanguage() {
+		// Reloading resources swaps the instance even when the selected language stays the same
+		if(Language.getInstance() != language) {
+			language = Language.getInstance();
+			entries.clear();
+			generation++;
+		}
+	}
+
+	public static List<Term> parse(String text) {
+		String[] tokens = text.toLowerCase(Locale.ROOT).trim().split("\\s+");
+		List<Term> terms = new ArrayList<>();
+		for(int i = 0; i < tokens.length; i++) {
+			String token = tokens[i];
+			if(token.isEmpty()) {
+				continue;
+			}
+
+			if((token.equals("accepts") || token.equals("returns")) && i + 1 < tokens.length) {
+				token = (token.equals("accepts") ? "in:" : "out:") + tokens[++i];
+			}
+
+			if(token.startsWith("in:")) {
+				addTerm(terms, FIELD_INPUT, token.substring(3));
+			} else if(token.startsWith("accepts:")) {
+				addTerm(terms, FIELD_INPUT, token.substring(8));
+			} else if(token.startsWith("out:")) {
+				addTerm(terms, FIELD_OUTPUT, token.substring(4));
+			} else if(token.startsWith("returns:")) {
+				addTerm(terms, FIELD_OUTPUT, token.substring(8));
+			} else if(token.startsWith("@")) {
+				addTerm(terms, FIELD_MOD, token.substring(1));
+			} else {
+				terms.add(new Term(FIELD_TEXT, token));
+			}
+		}
+		return terms;
+	}
+
+	private static void addTerm(List<Term> terms, int field, String needle) {
+		// Filters with nothing to filter by yet don't restrict anything
+		if(!needle.isEmpty()) {
+			terms.add(new Term(field, needle));
+		}
+	}
+
+	/**
+	 * Whether everything matching the newer search is sure to match the older one as well, so the newer search
+	 * only has to look through the results of the older one. This holds while the user keeps typing.
+	 */
+	public static boolean refines(List<Term> newer, List<Term> older) {
+		if(newer.size() < older.size()) {
+			return false;
+		}
+
+		for(int i = 0; i < older.size(); i++) {
+			Term n = newer.get(i);
+			Term o = older.get(i);
+			if(n.field != o.field) {
+				return false;
+			}
+			if(!n.needle.equals(o.needle) && (o.isAnchored() || n.isAnchored() || !n.plainNeedle().contains(o.plainNeedle()))) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Ranks the piece against a search.
+	 *
+	 * @return -1 if a term doesn't match, otherwise the rank of the piece, where 0 still hides it
+	 */
+	public static int rank(List<Term> terms, Entry entry) {
+		int rank = 0;
+		for(Term term : terms) {
+			int termRank = rank(term, entry);
+			if(termRank < 0) {
+				return -1;
+			}
+			rank += termRank;
+		}
+		return rank;
+	}
+
+	private static int rank(Term term, Entry entry) {
+		switch(term.field) {
+		case FIELD_INPUT: {
+			int maxRank = 0;
+			for(String type : entry.inputTypes) {
+				maxRank = Math.max(maxRank, rankTextToken(type, term.needle));
+			}
+			return maxRank > 0 ? maxRank : -1;
+		}
+		case FIELD_OUTPUT: {
+			int outRank = rankTextToken(entry.outputType, term.needle);
+			return outRank > 0 ? outRank : -1;
+		}
+		case FIELD_MOD: {
+			int modRank = entry.namespace == null ? 0 : rankTextToken(entry.namespace, term.needle);
+			return modRank > 0 ? modRank : -1;
+		}
+		default: {
+			int nameRank = rankTextToken(entry.name, term.needle);
+			int descRank = rankTextToken(entry.desc, term.needle);
+			if(nameRank <= 0 && descRank <= 0) {
+				return -1;
+			}
+			return nameRank + descRank / 2;
+		}
+		}
+	}
+
+	private static int rankTextToken(String haystack, String token) {
+		if(token.isEmpty()) {
+			return 0;
+		}
+
+		if(token.startsWith("_")) {
+			String clippedToken = token.substring(1);
+			if(clippedToken.isEmpty()) {
+				return 0;
+			}
+			if(haystack.endsWith(clippedToken)) {
+				if(!Character.isLetterOrDigit(haystack.charAt(haystack.length() - clippedToken.length() - 1))) {
+					return clippedToken.length() * 3 / 2;
+				}
+				return clippedToken.length();
+			}
+		} else if(token.endsWith("_")) {
+			String clippedToken = token.substring(0, token.length() - 1);
+			if(clippedToken.isEmpty()) {
+				return 0;
+			}
+			if(haystack.startsWith(clippedToken)) {
+				if(haystack.length() >= clippedToken.length() + 1 && !Character.isLetterOrDigit(haystack.charAt(clippedToken.length() + 1))) {
+					return clippedToken.length() * 2;
+				}
+				return clippedToken.length();
+			}
+		} else {
+			if(token.startsWith("has:")) {
+				token = token.substring(4);
+			}
+
+			int idx = haystack.indexOf(token);
+			if(idx >= 0) {
+				int multiplier = 2;
+				if(idx == 0 || !Character.isLetterOrDigit(haystack.charAt(idx - 1))) {
+					multiplier += 2;
+				}
+				if(idx + token.length() + 1 >= haystack.length() ||
+						!Character.isLetterOrDigit(haystack.charAt(idx + token.length() + 1))) {
+					multiplier++;
+				}
+
+				return token.length() * multiplier / 2;
+			}
+		}
+
+		return 0;
+	}
+
+	/**
+	 * One term of a search, {@code needle} being lowercase.
+	 */
+	public record Term(int field, String needle) {
+
+		private boolean isAnchored() {
+			return needle.startsWith("_") || needle.endsWith("_");
+		}
+
+		private String plainNeedle() {
+			return needle.startsWith("has:") ? needle.substring(4) : needle;
+		}
+	}
+
+	public static final class Entry {
+		public final String name;
+		public final String desc;
+		public final String sortingName;
+		public final String[] inputTypes;
+		public final String outputType;
+		@Nullable
+		public final String namespace;
+
+		private Entry(SpellPiece piece) {
+			name = I18n.get(piece.getUnlocalizedName()).toLowerCase(Locale.ROOT);
+			desc = I18n.get(piece.getUnlocalizedDesc()).toLowerCase(Locale.ROOT);
+			sortingName = piece.getSortingName();
+			inputTypes = piece.params.values().stream()
+					.map(SpellParam::getRequiredTypeString)
+					.map(type -> type.getString().toLowerCase(Locale.ROOT))
+					.toArray(String[]::new);
+			outputType = piece.getEvaluationTypeString().getString().toLowerCase(Locale.ROOT);
+			ResourceLocation key = PsiAPI.getSpellPieceKey(piece.getClass());
+			namespace = key == null ? null : key.getNamespace();
+		}
+	}
+}
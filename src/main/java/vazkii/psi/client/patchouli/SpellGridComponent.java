@@ -8,11 +8,9 @@
  */
 package vazkii.psi.client.patchouli;
 
-import com.mojang.blaze3d.vertex.ByteBufferBuilder;
 import com.mojang.brigadier.exceptions.CommandSyntaxException;
 
 import net.minecraft.client.gui.GuiGraphics;
-import net.minecraft.client.renderer.MultiBufferSource;
 import net.minecraft.client.resources.language.I18n;
 import net.minecraft.core.HolderLookup;
 import net.minecraft.nbt.CompoundTag;
@@ -25,15 +23,37 @@
 import vazkii.psi.api.spell.Spell;
 import vazkii.psi.api.spell.SpellGrid;
 import vazkii.psi.api.spell.SpellPiece;
+import vazkii.psi.client.render.SpellGridMesh;
 
+import java.util.LinkedHashMap;
+import java.util.Map;
 import java.util.function.UnaryOperator;
 
 import static vazkii.psi.client.gui.GuiProgrammer.texture;
 
 public class SpellGridComponent implements ICustomComponent {
+	private static final float SCALE = 0.65f;
+	private static final float CELL_SIZE = 18 * SCALE;
+	private static final int HOVER_SIZE = (int) (16 * SCALE);
+	private static final int MAX_MESHES = 16;
+
+	// Components are built again every time their page is opened, so their meshes are kept by spell instead
+	private static final Map<String, SpellGridMesh> meshes = new LinkedHashMap<>(16, 0.75F, true) {
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<String, SpellGridMesh> eldest) {
+			if(size() > MAX_MESHES) {
+				eldest.getValue().close();
+				return true;
+			}
+			return false;
+		}
+	};
+
 	public IVariable spell;
 	private transient SpellGrid grid;
 	private transient String spellName;
+	private transient String nameLabel;
+	private transient SpellGridMesh mesh;
 
 	@Override
 	public void build(int componentX, int componentY, int pageNum) {
@@ -49,6 +69,11 @@ public void build(int componentX, int componentY, int pageNum) {
 			}
 			grid = fromNBT.grid;
 			spellName = fromNBT.name;
+			nameLabel = I18n.get("psimisc.name");
+
+			// Drawn again on the next frame, in case the resource packs changed since the page was last open
+			mesh = meshes.computeIfAbsent(spellstr, key -> new SpellGridMesh(0xF000F0));
+			mesh.invalidate();
 		} catch (CommandSyntaxException e) {
 			throw new IllegalArgumentException("Invalid spell string: " + spell, e);
 		}
@@ -56,39 +81,45 @@ public void build(int componentX, int componentY, int pageNum) {
 
 	@Override
 	public void render(GuiGraphics graphics, IComponentRenderContext context, float pticks, int mouseX, int mouseY) {
-		float scale = 0.65f;
-
 		graphics.pose().pushPose();
-		graphics.pose().scale(scale, scale, 0f);
+		graphics.pose().scale(SCALE, SCALE, 0f);
 
 		// Draw the Programmer BG
 		graphics.setColor(1F, 1F, 1F, 1F);
 		graphics.blit(texture, 0, 0, 0, 0, 174, 184);
 
 		// Draw the name label and spell name
-		graphics.drawString(context.getGui().getMinecraft().font, I18n.get("psimisc.name"), 7, 171, 0xFFFFFF, true);
+		graphics.drawString(context.getGui().getMinecraft().font, nameLabel, 7, 171, 0xFFFFFF, true);
 		graphics.drawString(context.getGui().getMinecraft().font, spellName, 44, 170, 0xFFFFFF, true);
 
 		// Pad the spell pieces and draw them
 		graphics.pose().translate(7f, 7f, 0f);
-		MultiBufferSource.BufferSource buffer = MultiBufferSource.immediate(new ByteBufferBuilder(1536));
-		grid.draw(graphics.pose(), buffer, 0xF000F0);
-		buffer.endBatch();
-
-		float scaledSize = 18 * scale;
-		int scaledHoverSize = (int) (16 * scale);
-
-		SpellPiece[][] gridData = grid.gridData;
-		for(int i = 0; i < gridData.length; i++) {
-			SpellPiece[] data = gridData[i];
-			for(int j = 0; j < data.length; j++) {
-				SpellPiece piece = data[j];
-				if(piece != null && context.isAreaHovered(mouseX, mouseY, (int) (4 + i * scaledSize), (int) (4 + j * scaledSize), scaledHoverSize, scaledHoverSize)) {
-					PatchouliUtils.setPieceTooltip(context, piece);
+		graphics.flush();
+		mesh.render(graphics.pose(), grid);
+
+		SpellPiece piece = getHoveredPiece(context, mouseX, mouseY);
+		if(piece != null) {
+			PatchouliUtils.setPieceTooltip(context, piece);
+		}
+		graphics.pose().popPose();
+	}
+
+	/**
+	 * Works out the cell under the mouse from its position. Cells start at rounded down offsets, so the cell the
+	 * mouse falls in and the one after it are checked on each axis.
+	 */
+	private SpellPiece getHoveredPiece(IComponentRenderContext context, int mouseX, int mouseY) {
+		int cellX = (int) Math.floor((mouseX - 4) / CELL_SIZE);
+		int cellY = (int) Math.floor((mouseY - 4) / CELL_SIZE);
+		for(int i = cellX; i <= cellX + 1; i++) {
+			for(int j = cellY; j <= cellY + 1; j++) {
+				SpellPiece piece = SpellGrid.exists(i, j) ? grid.gridData[i][j] : null;
+				if(piece != null && context.isAreaHovered(mouseX, mouseY, (int) (4 + i * CELL_SIZE), (int) (4 + j * CELL_SIZE), HOVER_SIZE, HOVER_SIZE)) {
+					return piece;
 				}
 			}
 		}
-		graphics.pose().popPose();
+		return null;
 	}
 
 	@Override
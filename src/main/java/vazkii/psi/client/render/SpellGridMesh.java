@@ -0,0 +1,299 @@
+/*
+ * This class is distributed as part of the Psi Mod.
+ * Get the Source Code in github:
+ * https://github.com/Vazkii/Psi
+ *
+ * Psi is Open Source and distributed under the
+ * Psi License: https://psi.vazkii.net/license.php
+ */
+package vazkii.psi.client.render;
+
+import com.mojang.blaze3d.systems.RenderSystem;
+import com.mojang.blaze3d.vertex.BufferBuilder;
+import com.mojang.blaze3d.vertex.ByteBufferBuilder;
+import com.mojang.blaze3d.vertex.MeshData;
+import com.mojang.blaze3d.vertex.PoseStack;
+import com.mojang.blaze3d.vertex.VertexBuffer;
+import com.mojang.blaze3d.vertex.VertexConsumer;
+
+import it.unimi.dsi.fastutil.ints.IntArrayList;
+
+import net.minecraft.client.renderer.MultiBufferSource;
+import net.minecraft.client.renderer.RenderType;
+import net.neoforged.api.distmarker.Dist;
+import net.neoforged.api.distmarker.OnlyIn;
+
+import org.joml.Matrix4f;
+
+import vazkii.psi.api.spell.SpellGrid;
+import vazkii.psi.api.spell.SpellParam;
+import vazkii.psi.api.spell.SpellPiece;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * The geometry of a {@link SpellGrid}, tessellated once and kept in vertex buffers, one per render type.
+ * <p>
+ * Every frame the draw state of each cell and its neighbours is hashed, and only the cells whose hash changed are
+ * drawn again. Their vertices replace the old ones and the vertex buffers are uploaded again. When nothing changed,
+ * drawing the grid costs one draw call per render type. Owners that know the grid was edited should
+ * {@link #invalidate()} it rather than rely on the hashes, which may miss state a piece doesn't hash or collide.
+ */
+@OnlyIn(Dist.CLIENT)
+public class SpellGridMesh implements AutoCloseable {
+
+	private static final int CELLS = SpellGrid.GRID_SIZE * SpellGrid.GRID_SIZE;
+
+	private final int light;
+	private final int[] ownHashes = new int[CELLS];
+	private final int[] cellHashes = new int[CELLS];
+	private final CellRecorder[] cells = new CellRecorder[CELLS];
+	private final Map<RenderType, VertexBuffer> buffers = new LinkedHashMap<>();
+	private boolean invalid = true;
+
+	public SpellGridMesh(int light) {
+		this.light = light;
+	}
+
+	/**
+	 * Forces every cell to be drawn again on the next {@link #render}, for when something outside the grid, such
+	 * as the resource packs, changed.
+	 */
+	public void invalidate() {
+		invalid = true;
+	}
+
+	/**
+	 * Renders the grid with its top left corner at the origin of the pose.
+	 */
+	public void render(PoseStack pose, SpellGrid grid) {
+		if(update(grid)) {
+			upload();
+		}
+
+		if(buffers.isEmpty()) {
+			return;
+		}
+
+		Matrix4f modelView = new Matrix4f(RenderSystem.getModelViewMatrix()).mul(pose.last().pose());
+		for(Map.Entry<RenderType, VertexBuffer> entry : buffers.entrySet()) {
+			RenderType type = entry.getKey();
+			VertexBuffer buffer = entry.getValue();
+			type.setupRenderState();
+			buffer.bind();
+			buffer.drawWithShader(modelView, RenderSystem.getProjectionMatrix(), RenderSystem.getShader());
+			type.clearRenderState();
+		}
+		VertexBuffer.unbind();
+	}
+
+	/**
+	 * Records the cells whose draw state changed.
+	 *
+	 * @return whether any cell was recorded again
+	 */
+	private boolean update(SpellGrid grid) {
+		for(int i = 0; i < SpellGrid.GRID_SIZE; i++) {
+			for(int j = 0; j < SpellGrid.GRID_SIZE; j++) {
+				SpellPiece piece = grid.gridData[i][j];
+				ownHashes[index(i, j)] = piece == null ? 0 : piece.getDrawStateHash();
+			}
+		}
+
+		boolean changed = invalid;
+		PoseStack pose = new PoseStack();
+		for(int i = 0; i < SpellGrid.GRID_SIZE; i++) {
+			for(int j = 0; j < SpellGrid.GRID_SIZE; j++) {
+				// Param arrows and connectors depend on the pieces next to them
+				int hash = ownHashes[index(i, j)];
+				for(SpellParam.Side side : SpellParam.Side.DIRECTIONS) {
+					int x = i + side.offx;
+					int y = j + side.offy;
+					hash = 31 * hash + (SpellGrid.exists(x, y) ? ownHashes[index(x, y)] : 0);
+				}
+
+				int index = index(i, j);
+				if(!invalid && cells[index] != null && cellHashes[index] == hash) {
+					continue;
+				}
+
+				cellHashes[index] = hash;
+				cells[index] = record(pose, grid.gridData[i][j], i, j);
+				changed = true;
+			}
+		}
+
+		invalid = false;
+		return changed;
+	}
+
+	private CellRecorder record(PoseStack pose, SpellPiece piece, int x, int y) {
+		CellRecorder recorder = new CellRecorder();
+		if(piece != null) {
+			pose.pushPose();
+			pose.translate(x * 18, y * 18, 0);
+			piece.draw(pose, recorder, light);
+			pose.popPose();
+		}
+		return recorder;
+	}
+
+	private void upload() {
+		Map<RenderType, ByteBufferBuilder> memory = new LinkedHashMap<>();
+		Map<RenderType, BufferBuilder> builders = new LinkedHashMap<>();
+		try {
+			for(CellRecorder cell : cells) {
+				for(Map.Entry<RenderType, VertexRecorder> entry : cell.vertices.entrySet()) {
+					RenderType type = entry.getKey();
+					BufferBuilder builder = builders.get(type);
+					if(builder == null) {
+						ByteBufferBuilder bytes = new ByteBufferBuilder(type.bufferSize());
+						memory.put(type, bytes);
+						builder = new BufferBuilder(bytes, type.mode(), type.format());
+						builders.put(type, builder);
+					}
+					entry.getValue().replay(builder);
+				}
+			}
+
+			for(Iterator<Map.Entry<RenderType, VertexBuffer>> it = buffers.entrySet().iterator(); it.hasNext();) {
+				Map.Entry<RenderType, VertexBuffer> entry = it.next();
+				if(!builders.containsKey(entry.getKey())) {
+					entry.getValue().close();
+					it.remove();
+				}
+			}
+
+			for(Map.Entry<RenderType, BufferBuilder> entry : builders.entrySet()) {
+				MeshData mesh = entry.getValue().build();
+				VertexBuffer buffer = buffers.get(entry.getKey());
+				if(mesh == null) {
+					if(buffer != null) {
+						buffer.close();
+						buffers.remove(entry.getKey());
+					}
+					continue;
+				}
+
+				if(buffer == null) {
+					buffer = new VertexBuffer(VertexBuffer.Usage.STATIC);
+					buffers.put(entry.getKey(), buffer);
+				}
+				buffer.bind();
+				buffer.upload(mesh);
+			}
+			VertexBuffer.unbind();
+		} finally {
+			memory.values().forEach(ByteBufferBuilder::close);
+		}
+	}
+
+	@Override
+	public void close() {
+		buffers.values().forEach(VertexBuffer::close);
+		buffers.clear();
+		invalid = true;
+	}
+
+	private static int index(int x, int y) {
+		return x * SpellGrid.GRID_SIZE + y;
+	}
+
+	/**
+	 * Everything one cell drew, by render type, in the order the types were first asked for.
+	 */
+	private static final class CellRecorder implements MultiBufferSource {
+		private final Map<RenderType, VertexRecorder> vertices = new LinkedHashMap<>();
+
+		@Override
+		public VertexConsumer getBuffer(RenderType type) {
+			return vertices.computeIfAbsent(type, t -> new VertexRecorder());
+		}
+	}
+
+	/**
+	 * Keeps the vertices passed to it so they can be written into a fresh buffer whenever the mesh is uploaded.
+	 * Every vertex takes {@link #STRIDE} ints, floats stored by their bits, and remembers which elements were set.
+	 */
+	private static final class VertexRecorder implements VertexConsumer {
+		private static final int STRIDE = 12;
+		private static final int COLOR = 1, UV = 1 << 1, UV1 = 1 << 2, UV2 = 1 << 3, NORMAL = 1 << 4;
+
+		private final IntArrayList data = new IntArrayList();
+		private int vertex = -1;
+
+		@Override
+		public VertexConsumer addVertex(float x, float y, float z) {
+			vertex = data.size();
+			data.size(vertex + STRIDE);
+			data.set(vertex + 1, Float.floatToRawIntBits(x));
+			data.set(vertex + 2, Float.floatToRawIntBits(y));
+			data.set(vertex + 3, Float.floatToRawIntBits(z));
+			return this;
+		}
+
+		@Override
+		public VertexConsumer setColor(int r, int g, int b, int a) {
+			set(COLOR, 4, (a & 0xFF) << 24 | (r & 0xFF) << 16 | (g & 0xFF) << 8 | b & 0xFF);
+			return this;
+		}
+
+		@Override
+		public VertexConsumer setUv(float u, float v) {
+			set(UV, 5, Float.floatToRawIntBits(u));
+			data.set(vertex + 6, Float.floatToRawIntBits(v));
+			return this;
+		}
+
+		@Override
+		public VertexConsumer setUv1(int u, int v) {
+			set(UV1, 7, u & 0xFFFF | v << 16);
+			return this;
+		}
+
+		@Override
+		public VertexConsumer setUv2(int u, int v) {
+			set(UV2, 8, u & 0xFFFF | v << 16);
+			return this;
+		}
+
+		@Override
+		public VertexConsumer setNormal(float x, float y, float z) {
+			set(NORMAL, 9, Float.floatToRawIntBits(x));
+			data.set(vertex + 10, Float.floatToRawIntBits(y));
+			data.set(vertex + 11, Float.floatToRawIntBits(z));
+			return this;
+		}
+
+		private void set(int element, int offset, int value) {
+			data.set(vertex, data.getInt(vertex) | element);
+			data.set(vertex + offset, value);
+		}
+
+		private void replay(VertexConsumer consumer) {
+			int[] d = data.elements();
+			for(int v = 0; v < data.size(); v += STRIDE) {
+				int elements = d[v];
+				consumer.addVertex(Float.intBitsToFloat(d[v + 1]), Float.intBitsToFloat(d[v + 2]), Float.intBitsToFloat(d[v + 3]));
+				if((elements & COLOR) != 0) {
+					int color = d[v + 4];
+					consumer.setColor(color >> 16 & 0xFF, color >> 8 & 0xFF, color & 0xFF, color >>> 24);
+				}
+				if((elements & UV) != 0) {
+					consumer.setUv(Float.intBitsToFloat(d[v + 5]), Float.intBitsToFloat(d[v + 6]));
+				}
+				if((elements & UV1) != 0) {
+					consumer.setUv1(d[v + 7] & 0xFFFF, d[v + 7] >> 16);
+				}
+				if((elements & UV2) != 0) {
+					consumer.setUv2(d[v + 8] & 0xFFFF, d[v + 8] >> 16);
+				}
+				if((elements & NORMAL) != 0) {
+					consumer.setNormal(Float.intBitsToFloat(d[v + 9]), Float.intBitsToFloat(d[v + 10]), Float.intBitsToFloat(d[v + 11]));
+				}
+			}
+		}
+	}
+}
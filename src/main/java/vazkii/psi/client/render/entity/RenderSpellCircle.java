@@ -20,6 +20,7 @@
 import net.minecraft.client.renderer.entity.EntityRenderer;
 import net.minecraft.client.renderer.entity.EntityRendererProvider;
 import net.minecraft.resources.ResourceLocation;
+import net.minecraft.util.Mth;
 import net.minecraft.world.item.ItemStack;
 
 import org.joml.Matrix4f;
@@ -36,6 +37,14 @@ public class RenderSpellCircle extends EntityRenderer<EntitySpellCircle> {
 
 	private static final RenderType[] LAYERS = new RenderType[3];
 	private static final float BRIGHTNESS_FACTOR = 0.7F;
+	private static final Quaternionf FLIP = Axis.XP.rotationDegrees(180);
+
+	// Only used on the render thread, to spare an allocation per circle and layer
+	private static final Quaternionf orientation = new Quaternionf();
+	private static final Matrix4f layerPose = new Matrix4f();
+
+	private static int lastColor;
+	private static int[] lastLayerColors;
 
 	static {
 		for(int i = 0; i < LAYERS.length; i++) {
@@ -56,6 +65,23 @@ public RenderSpellCircle(EntityRendererProvider.Context ctx) {
 		ArmorModels.init(ctx);
 	}
 
+	/**
+	 * The render types the three layers of every circle are drawn with. These get fixed buffers in the main buffer
+	 * source, so the circles on screen build up in them and are drawn with one call per layer, however many there are.
+	 */
+	public static RenderType[] getLayers() {
+		return LAYERS;
+	}
+
+	/**
+	 * Draws the circles batched so far, for when they are drawn outside of the level's entity pass.
+	 */
+	public static void endBatch(MultiBufferSource.BufferSource buffers) {
+		for(RenderType layer : LAYERS) {
+			buffers.endBatch(layer);
+		}
+	}
+
 	public static void renderSpellCircle(float alive, float scale, float horizontalScale, float xDir, float yDir, float zDir, int color, PoseStack ms, MultiBufferSource buffers) {
 
 		ms.pushPose();
@@ -65,62 +91,74 @@ public static void renderSpellCircle(float alive, float scale, float horizontalS
 		zDir /= mag;
 
 		if(zDir == -1) {
-			ms.mulPose(Axis.XP.rotationDegrees(180));
+			ms.mulPose(FLIP);
 		} else if(zDir != 1) {
-			ms.mulPose(new Quaternionf().rotateAxis((float) (Math.acos(zDir) * 180 / Math.PI), -yDir / mag, xDir / mag, 0)); //TODO(Kamefrede): 1.20 new Vector3f(-yDir / mag, xDir / mag, 0).rotate((float) (Math.acos(zDir) * 180 / Math.PI) check if this is equivalent
+			ms.mulPose(orientation.identity().rotateAxis((float) (Math.acos(zDir) * 180 / Math.PI), -yDir / mag, xDir / mag, 0)); //TODO(Kamefrede): 1.20 new Vector3f(-yDir / mag, xDir / mag, 0).rotate((float) (Math.acos(zDir) * 180 / Math.PI) check if this is equivalent
 		}
 		ms.translate(0, 0, 0.1);
 		ms.scale((float) ratio * scale, (float) ratio * scale, (float) ratio);
 
-		int r = PsiRenderHelper.r(color);
-		int g = PsiRenderHelper.g(color);
-		int b = PsiRenderHelper.b(color);
-
+		int[] colors = getLayerColors(color);
+		Matrix4f pose = ms.last().pose();
+		float spin = alive * Mth.DEG_TO_RAD;
+		int fullbright = 0xF000F0;
 		for(int i = 0; i < LAYERS.length; i++) {
-			int rValue = r;
-			int gValue = g;
-			int bValue = b;
-
-			if(i == 1) {
-				rValue = gValue = bValue = 0xFF;
-			} else if(i == 2) {
-				int minBrightness = (int) (1 / (1 - BRIGHTNESS_FACTOR));
-				if(rValue == 0 && gValue == 0 && bValue == 0) {
-					rValue = gValue = bValue = minBrightness;
-				}
-				if(rValue > 0 && rValue < minBrightness) {
-					rValue = minBrightness;
-				}
-				if(gValue > 0 && gValue < minBrightness) {
-					gValue = minBrightness;
-				}
-				if(bValue > 0 && bValue < minBrightness) {
-					bValue = minBrightness;
-				}
-
-				rValue = (int) Math.min(rValue / BRIGHTNESS_FACTOR, 0xFF);
-				gValue = (int) Math.min(gValue / BRIGHTNESS_FACTOR, 0xFF);
-				bValue = (int) Math.min(bValue / BRIGHTNESS_FACTOR, 0xFF);
-			}
-
-			ms.pushPose();
-			ms.mulPose(Axis.ZP.rotationDegrees(i == 0 ? -alive : alive));
+			// Each layer sits half a unit behind the one before it, and the first spins the other way
+			layerPose.set(pose).translate(0, 0, -0.5F * i).rotateZ(i == 0 ? -spin : spin);
 
+			int layerColor = colors[i];
+			int r = PsiRenderHelper.r(layerColor);
+			int g = PsiRenderHelper.g(layerColor);
+			int b = PsiRenderHelper.b(layerColor);
 			VertexConsumer buffer = buffers.getBuffer(LAYERS[i]);
-			Matrix4f mat = ms.last().pose();
-			int fullbright = 0xF000F0;
-			buffer.addVertex(mat, -32, 32, 0).setColor(rValue, gValue, bValue, 255).setUv(0, 1).setLight(fullbright);
-			buffer.addVertex(mat, 32, 32, 0).setColor(rValue, gValue, bValue, 255).setUv(1, 1).setLight(fullbright);
-			buffer.addVertex(mat, 32, -32, 0).setColor(rValue, gValue, bValue, 255).setUv(1, 0).setLight(fullbright);
-			buffer.addVertex(mat, -32, -32, 0).setColor(rValue, gValue, bValue, 255).setUv(0, 0).setLight(fullbright);
-			ms.popPose();
-
-			ms.translate(0, 0, -0.5);
+			buffer.addVertex(layerPose, -32, 32, 0).setColor(r, g, b, 255).setUv(0, 1).setLight(fullbright);
+			buffer.addVertex(layerPose, 32, 32, 0).setColor(r, g, b, 255).setUv(1, 1).setLight(fullbright);
+			buffer.addVertex(layerPose, 32, -32, 0).setColor(r, g, b, 255).setUv(1, 0).setLight(fullbright);
+			buffer.addVertex(layerPose, -32, -32, 0).setColor(r, g, b, 255).setUv(0, 0).setLight(fullbright);
 		}
 
 		ms.popPose();
 	}
 
+	/**
+	 * Gets the color of each layer for a spell color. Circles on screen mostly share a color, so the last one is
+	 * kept.
+	 */
+	private static int[] getLayerColors(int color) {
+		if(color == lastColor && lastLayerColors != null) {
+			return lastLayerColors;
+		}
+
+		int r = PsiRenderHelper.r(color);
+		int g = PsiRenderHelper.g(color);
+		int b = PsiRenderHelper.b(color);
+
+		int minBrightness = (int) (1 / (1 - BRIGHTNESS_FACTOR));
+		int rValue = r;
+		int gValue = g;
+		int bValue = b;
+		if(rValue == 0 && gValue == 0 && bValue == 0) {
+			rValue = gValue = bValue = minBrightness;
+		}
+		if(rValue > 0 && rValue < minBrightness) {
+			rValue = minBrightness;
+		}
+		if(gValue > 0 && gValue < minBrightness) {
+			gValue = minBrightness;
+		}
+		if(bValue > 0 && bValue < minBrightness) {
+			bValue = minBrightness;
+		}
+
+		rValue = (int) Math.min(rValue / BRIGHTNESS_FACTOR, 0xFF);
+		gValue = (int) Math.min(gValue / BRIGHTNESS_FACTOR, 0xFF);
+		bValue = (int) Math.min(bValue / BRIGHTNESS_FACTOR, 0xFF);
+
+		lastColor = color;
+		lastLayerColors = new int[] { r << 16 | g << 8 | b, 0xFFFFFF, rValue << 16 | gValue << 8 | bValue };
+		return lastLayerColors;
+	}
+
 	@Override
 	public void render(EntitySpellCircle entity, float entityYaw, float partialTicks, PoseStack ms, MultiBufferSource buffers, int light) {
 		ms.pushPose();
@@ -0,0 +1,198 @@
+/*
+ * This class is distributed as part of the Psi Mod.
+ * Get the Source Code in github:
+ * https://github.com/Vazkii/Psi
+ *
+ * Psi is Open Source and distributed under the
+ * Psi License: https://psi.vazkii.net/license.php
+ */
+package vazkii.psi.client.render.tile;
+
+import com.mojang.blaze3d.pipeline.TextureTarget;
+import com.mojang.blaze3d.platform.GlStateManager;
+import com.mojang.blaze3d.systems.RenderSystem;
+import com.mojang.blaze3d.vertex.ByteBufferBuilder;
+import com.mojang.blaze3d.vertex.DefaultVertexFormat;
+import com.mojang.blaze3d.vertex.PoseStack;
+import com.mojang.blaze3d.vertex.VertexFormat;
+import com.mojang.blaze3d.vertex.VertexSorting;
+
+import net.minecraft.client.Minecraft;
+import net.minecraft.client.renderer.GameRenderer;
+import net.minecraft.client.renderer.MultiBufferSource;
+import net.minecraft.client.renderer.RenderStateShard;
+import net.minecraft.client.renderer.RenderType;
+import net.minecraft.server.packs.resources.ResourceManagerReloadListener;
+import net.neoforged.api.distmarker.Dist;
+import net.neoforged.api.distmarker.OnlyIn;
+import net.neoforged.bus.api.SubscribeEvent;
+import net.neoforged.fml.common.EventBusSubscriber;
+import net.neoforged.neoforge.client.event.ClientTickEvent;
+import net.neoforged.neoforge.client.event.RegisterClientReloadListenersEvent;
+import net.neoforged.neoforge.client.event.RenderFrameEvent;
+import net.neoforged.neoforge.event.level.LevelEvent;
+
+import org.jetbrains.annotations.Nullable;
+import org.joml.Matrix4f;
+import org.joml.Matrix4fStack;
+import org.lwjgl.opengl.GL11;
+
+import vazkii.psi.client.core.handler.ClientTickHandler;
+import vazkii.psi.common.block.tile.TileProgrammer;
+import vazkii.psi.common.lib.LibMisc;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Keeps the spell face of every programmer in view drawn into its own texture, so it can be rendered as a single
+ * quad. Textures are redrawn before the frame whenever the programmer's spell version changes or the resources are
+ * reloaded, and freed once the programmer hasn't been rendered for a while. The fullbright name label isn't part of
+ * the texture, since the texture is lit like the block.
+ */
+@OnlyIn(Dist.CLIENT)
+@EventBusSubscriber(value = Dist.CLIENT, modid = LibMisc.MOD_ID)
+public final class ProgrammerFaceCache {
+
+	// The area of the face the texture covers, in the units the face is drawn in
+	public static final float MIN_X = -7, MIN_Y = -7, WIDTH = 174, HEIGHT = 184;
+
+	private static final int PIXELS_PER_UNIT = 2;
+	private static final int MAX_FACES = 64;
+	private static final int MAX_BUILDS_PER_FRAME = 4;
+	private static final int EXPIRE_TICKS = 100;
+
+	// Faces are drawn over a transparent texture, so their colors come out premultiplied by alpha
+	private static final RenderStateShard.TransparencyStateShard PREMULTIPLIED_TRANSPARENCY = new RenderStateShard.TransparencyStateShard("psi_premultiplied_transparency", () -> {
+		RenderSystem.enableBlend();
+		RenderSystem.blendFuncSeparate(GlStateManager.SourceFactor.ONE, GlStateManager.DestFactor.ONE_MINUS_SRC_ALPHA, GlStateManager.SourceFactor.ONE, GlStateManager.DestFactor.ONE_MINUS_SRC_ALPHA);
+	}, () -> {
+		RenderSystem.disableBlend();
+		RenderSystem.defaultBlendFunc();
+	});
+
+	private static final Map<TileProgrammer, Face> faces = new LinkedHashMap<>();
+
+	/**
+	 * Gets the render type that draws the programmer's face texture, or null if there is no texture to draw yet.
+	 * Textures that are out of date keep being used until they are redrawn before the next frame.
+	 */
+	@Nullable
+	public static RenderType getFace(TileProgrammer programmer) {
+		Face face = faces.get(programmer);
+		if(face == null) {
+			if(faces.size() >= MAX_FACES) {
+				return null;
+			}
+			face = new Face();
+			faces.put(programmer, face);
+		}
+
+		face.lastUsed = ClientTickHandler.ticksInGame;
+		return face.version == -1 ? null : face.renderType;
+	}
+
+	@SubscribeEvent
+	public static void registerReloadListener(RegisterClientReloadListenersEvent event) {
+		// Piece sprites may have changed
+		event.registerReloadListener((ResourceManagerReloadListener) manager -> invalidateAll());
+	}
+
+	/**
+	 * Marks every texture as out of date, so programmers are drawn directly until their face is drawn again.
+	 */
+	private static void invalidateAll() {
+		for(Face face : faces.values()) {
+			face.version = -1;
+		}
+	}
+
+	@SubscribeEvent
+	public static void onRenderFrame(RenderFrameEvent.Pre event) {
+		int builds = 0;
+		for(Map.Entry<TileProgrammer, Face> entry : faces.entrySet()) {
+			TileProgrammer programmer = entry.getKey();
+			Face face = entry.getValue();
+			if(face.version != programmer.getSpellVersion() && programmer.isEnabled() && !programmer.isRemoved()) {
+				face.build(programmer);
+				if(++builds == MAX_BUILDS_PER_FRAME) {
+					break;
+				}
+			}
+		}
+	}
+
+	@SubscribeEvent
+	public static void onClientTick(ClientTickEvent.Post event) {
+		for(Iterator<Map.Entry<TileProgrammer, Face>> it = faces.entrySet().iterator(); it.hasNext();) {
+			Map.Entry<TileProgrammer, Face> entry = it.next();
+			if(entry.getKey().isRemoved() || ClientTickHandler.ticksInGame - entry.getValue().lastUsed > EXPIRE_TICKS) {
+				entry.getValue().close();
+				it.remove();
+			}
+		}
+	}
+
+	@SubscribeEvent
+	public static void onLevelUnload(LevelEvent.Unload event) {
+		if(event.getLevel().isClientSide()) {
+			faces.values().forEach(Face::close);
+			faces.clear();
+		}
+	}
+
+	private static final class Face {
+		private TextureTarget target;
+		private RenderType renderType;
+		private int version = -1;
+		private int lastUsed;
+
+		private void build(TileProgrammer programmer) {
+			if(target == null) {
+				target = new TextureTarget((int) WIDTH * PIXELS_PER_UNIT, (int) HEIGHT * PIXELS_PER_UNIT, true, Minecraft.ON_OSX);
+				target.setFilterMode(GL11.GL_LINEAR);
+				target.setClearColor(0F, 0F, 0F, 0F);
+				TextureTarget texture = target;
+				RenderType.CompositeState glState = RenderType.CompositeState.builder()
+						.setShaderState(new RenderStateShard.ShaderStateShard(GameRenderer::getPositionColorTexLightmapShader))
+						.setTextureState(new RenderStateShard.EmptyTextureStateShard(() -> RenderSystem.setShaderTexture(0, texture.getColorTextureId()), () -> {}))
+						.setLightmapState(new RenderStateShard.LightmapStateShard(true))
+						.setTransparencyState(PREMULTIPLIED_TRANSPARENCY)
+						.setCullState(new RenderStateShard.CullStateShard(false))
+						.createCompositeState(false);
+				renderType = RenderType.create(LibMisc.PREFIX_MOD + "programmer_face", DefaultVertexFormat.POSITION_COLOR_TEX_LIGHTMAP, VertexFormat.Mode.QUADS, 256, false, false, glState);
+			}
+
+			target.clear(Minecraft.ON_OSX);
+			target.bindWrite(true);
+
+			Matrix4f projection = RenderSystem.getProjectionMatrix();
+			VertexSorting sorting = RenderSystem.getVertexSorting();
+			RenderSystem.setProjectionMatrix(new Matrix4f().setOrtho(MIN_X, MIN_X + WIDTH, MIN_Y + HEIGHT, MIN_Y, -1000F, 1000F), VertexSorting.ORTHOGRAPHIC_Z);
+			Matrix4fStack modelView = RenderSystem.getModelViewStack();
+			modelView.pushMatrix();
+			modelView.identity();
+			RenderSystem.applyModelViewMatrix();
+
+			try (ByteBufferBuilder bytes = new ByteBufferBuilder(1536)) {
+				MultiBufferSource.BufferSource buffers = MultiBufferSource.immediate(bytes);
+				RenderTileProgrammer.drawSpell(programmer, new PoseStack(), buffers, 0xF000F0);
+				buffers.endBatch();
+			}
+
+			modelView.popMatrix();
+			RenderSystem.applyModelViewMatrix();
+			RenderSystem.setProjectionMatrix(projection, sorting);
+			Minecraft.getInstance().getMainRenderTarget().bindWrite(true);
+
+			version = programmer.getSpellVersion();
+		}
+
+		private void close() {
+			if(target != null) {
+				target.destroyBuffers();
+			}
+		}
+	}
+}
@@ -15,12 +15,14 @@
 import net.minecraft.client.Minecraft;
 import net.minecraft.client.gui.Font;
 import net.minecraft.client.renderer.MultiBufferSource;
+import net.minecraft.client.renderer.RenderType;
 import net.minecraft.client.renderer.blockentity.BlockEntityRenderer;
 import net.minecraft.client.renderer.blockentity.BlockEntityRendererProvider;
 import net.minecraft.client.resources.language.I18n;
 import net.minecraft.core.Direction;
 import net.minecraft.world.level.block.FaceAttachedHorizontalDirectionalBlock;
 import net.minecraft.world.level.block.state.BlockState;
+import net.minecraft.world.phys.Vec3;
 
 import org.joml.Matrix4f;
 
@@ -31,6 +33,10 @@
 
 public class RenderTileProgrammer implements BlockEntityRenderer<TileProgrammer> {
 
+	// Close enough to read, where a texture would look blurry, so the face is drawn piece by piece
+	private static final double DETAIL_DISTANCE_SQ = 6 * 6;
+	private static final int VIEW_DISTANCE = 48;
+
 	public RenderTileProgrammer(BlockEntityRendererProvider.Context ctx) {}
 
 	@Override
@@ -76,30 +82,81 @@ public void render(TileProgrammer te, float partialticks, PoseStack ms, MultiBuf
 				ms.translate(70F, 0F, -200F);
 			}
 
-			te.spell.draw(ms, buffers, light);
-
-			ms.pushPose();
-			ms.translate(0F, 0F, -0.01F);
-			VertexConsumer buffer = buffers.getBuffer(GuiProgrammer.LAYER);
-			float x = -7, y = -7;
-			float width = 174;
-			float height = 184;
-			float u = 0, v = 0;
-			float rescale = 1 / 256F;
-			float a = Psi.magical ? 1F : 0.5F;
-			Matrix4f mat = ms.last().pose();
-			buffer.addVertex(mat, x, y + height, 0).setColor(1, 1, 1, a).setUv(u * rescale, (v + height) * rescale).setLight(light);
-			buffer.addVertex(mat, x + width, y + height, 0).setColor(1, 1, 1, a).setUv((u + width) * rescale, (v + height) * rescale).setLight(light);
-			buffer.addVertex(mat, x + width, y, 0).setColor(1, 1, 1, a).setUv((u + width) * rescale, v * rescale).setLight(light);
-			buffer.addVertex(mat, x, y, 0).setColor(1, 1, 1, a).setUv(u * rescale, v * rescale).setLight(light);
-			ms.popPose();
+			Vec3 camera = Minecraft.getInstance().gameRenderer.getMainCamera().getPosition();
+			RenderType face = null;
+			if(te.getBlockPos().getCenter().distanceToSqr(camera) > DETAIL_DISTANCE_SQ) {
+				face = ProgrammerFaceCache.getFace(te);
+			}
 
-			int color = Psi.magical ? 0 : 0xFFFFFF;
-			Minecraft mc = Minecraft.getInstance();
-			mc.font.drawInBatch(I18n.get("psimisc.name"), 0, 164, color, false, ms.last().pose(), buffers, Font.DisplayMode.NORMAL, 0, 0xF000F0);
-			mc.font.drawInBatch(te.spell.name, 38, 164, color, false, ms.last().pose(), buffers, Font.DisplayMode.NORMAL, 0, 0xF000F0);
+			if(face == null) {
+				drawFace(te, ms, buffers, light);
+			} else {
+				drawTexturedFace(ms, buffers.getBuffer(face), light);
+				drawLabel(te, ms, buffers);
+			}
 
 			ms.popPose();
 		}
 	}
+
+	@Override
+	public int getViewDistance() {
+		return VIEW_DISTANCE;
+	}
+
+	/**
+	 * Draws the spell, background and name of the programmer, with the top left corner of the grid at the origin.
+	 */
+	public static void drawFace(TileProgrammer te, PoseStack ms, MultiBufferSource buffers, int light) {
+		drawSpell(te, ms, buffers, light);
+		drawLabel(te, ms, buffers);
+	}
+
+	/**
+	 * Draws the spell and background of the programmer, everything on its face that is lit by the block.
+	 */
+	public static void drawSpell(TileProgrammer te, PoseStack ms, MultiBufferSource buffers, int light) {
+		te.spell.draw(ms, buffers, light);
+
+		ms.pushPose();
+		ms.translate(0F, 0F, -0.01F);
+		VertexConsumer buffer = buffers.getBuffer(GuiProgrammer.LAYER);
+		float x = -7, y = -7;
+		float width = 174;
+		float height = 184;
+		float u = 0, v = 0;
+		float rescale = 1 / 256F;
+		float a = Psi.magical ? 1F : 0.5F;
+		Matrix4f mat = ms.last().pose();
+		buffer.addVertex(mat, x, y + height, 0).setColor(1, 1, 1, a).setUv(u * rescale, (v + height) * rescale).setLight(light);
+		buffer.addVertex(mat, x + width, y + height, 0).setColor(1, 1, 1, a).setUv((u + width) * rescale, (v + height) * rescale).setLight(light);
+		buffer.addVertex(mat, x + width, y, 0).setColor(1, 1, 1, a).setUv((u + width) * rescale, v * rescale).setLight(light);
+		buffer.addVertex(mat, x, y, 0).setColor(1, 1, 1, a).setUv(u * rescale, v * rescale).setLight(light);
+		ms.popPose();
+	}
+
+	/**
+	 * Draws the name of the programmer's spell, which is always fullbright.
+	 */
+	private static void drawLabel(TileProgrammer te, PoseStack ms, MultiBufferSource buffers) {
+		int color = Psi.magical ? 0 : 0xFFFFFF;
+		Minecraft mc = Minecraft.getInstance();
+		mc.font.drawInBatch(I18n.get("psimisc.name"), 0, 164, color, false, ms.last().pose(), buffers, Font.DisplayMode.NORMAL, 0, 0xF000F0);
+		mc.font.drawInBatch(te.spell.name, 38, 164, color, false, ms.last().pose(), buffers, Font.DisplayMode.NORMAL, 0, 0xF000F0);
+	}
+
+	private static void drawTexturedFace(PoseStack ms, VertexConsumer buffer, int light) {
+		// At the depth of the background, so the label goes over it like on the detailed face
+		ms.pushPose();
+		ms.translate(0F, 0F, -0.01F);
+		float minX = ProgrammerFaceCache.MIN_X, minY = ProgrammerFaceCache.MIN_Y;
+		float maxX = minX + ProgrammerFaceCache.WIDTH, maxY = minY + ProgrammerFaceCache.HEIGHT;
+		Matrix4f mat = ms.last().pose();
+		// Render targets are stored bottom row first
+		buffer.addVertex(mat, minX, maxY, 0).setColor(1F, 1F, 1F, 1F).setUv(0, 0).setLight(light);
+		buffer.addVertex(mat, maxX, maxY, 0).setColor(1F, 1F, 1F, 1F).setUv(1, 0).setLight(light);
+		buffer.addVertex(mat, maxX, minY, 0).setColor(1F, 1F, 1F, 1F).setUv(1, 1).setLight(light);
+		buffer.addVertex(mat, minX, minY, 0).setColor(1F, 1F, 1F, 1F).setUv(0, 1).setLight(light);
+		ms.popPose();
+	}
 }
@@ -29,6 +29,7 @@ public class TileProgrammer extends BlockEntity {
 	private static final String TAG_PLAYER_LOCK = "playerLock";
 	public Spell spell;
 	public boolean enabled;
+	private int spellVersion;
 
 	public String playerLock = "";
 
@@ -44,7 +45,15 @@ public boolean canCompile() {
 		return isEnabled() && new SpellCompiler().compile(spell).left().isPresent();
 	}
 
+	/**
+	 * Changes every time the spell is changed or synced, so renderers can tell when to redraw it.
+	 */
+	public int getSpellVersion() {
+		return spellVersion;
+	}
+
 	public void onSpellChanged() {
+		spellVersion++;
 		boolean wasEnabled = enabled;
 		enabled = isEnabled();
 		if(wasEnabled != enabled) {
@@ -79,6 +88,7 @@ public void readPacketNBT(CompoundTag cmp) {
 		} else {
 			spell.readFromNBT(spellCmp);
 		}
+		spellVersion++;
 		playerLock = cmp.getString(TAG_PLAYER_LOCK);
 	}
 
@@ -18,6 +18,7 @@
 import org.jetbrains.annotations.Nullable;
 
 import vazkii.psi.api.PsiAPI;
+import vazkii.psi.api.exosuit.EnumArmorEvent;
 import vazkii.psi.api.exosuit.PsiArmorEvent;
 import vazkii.psi.api.spell.detonator.IDetonationHandler;
 import vazkii.psi.common.lib.LibMisc;
@@ -49,7 +50,7 @@ public void detonate() {
 		if(detonated != worldTime) {
 			playerData.putLong(TRIGGER_TICK, worldTime);
 
-			PsiArmorEvent.post(new PsiArmorEvent(player, PsiArmorEvent.DETONATE));
+			PsiArmorEvent.post(new PsiArmorEvent(player, EnumArmorEvent.DETONATE));
 		}
 	}
 
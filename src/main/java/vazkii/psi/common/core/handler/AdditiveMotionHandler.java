@@ -8,10 +8,14 @@
  */
 package vazkii.psi.common.core.handler;
 
+import it.unimi.dsi.fastutil.floats.FloatArrayList;
+import it.unimi.dsi.fastutil.ints.Int2IntOpenHashMap;
+import it.unimi.dsi.fastutil.ints.IntArrayList;
+
 import net.minecraft.server.level.ServerLevel;
 import net.minecraft.server.level.ServerPlayer;
 import net.minecraft.world.entity.Entity;
-import net.minecraft.world.phys.Vec3;
+import net.minecraft.world.level.Level;
 import net.neoforged.bus.api.SubscribeEvent;
 import net.neoforged.fml.common.EventBusSubscriber;
 import net.neoforged.neoforge.event.tick.LevelTickEvent;
@@ -20,48 +24,108 @@
 import vazkii.psi.common.network.MessageRegister;
 import vazkii.psi.common.network.message.MessageAdditiveMotion;
 
+import java.util.Arrays;
 import java.util.Map;
 import java.util.WeakHashMap;
 
+/**
+ * Sums the motion spells add to entities over a tick, then applies it and syncs it to clients once per level tick
+ * with one packet per player.
+ */
 @EventBusSubscriber(modid = LibMisc.MOD_ID)
 public class AdditiveMotionHandler {
-	private static final Map<Entity, Vec3> toUpdate = new WeakHashMap<>();
+	private static final Map<Level, PendingMotion> toUpdate = new WeakHashMap<>();
 
 	public static void addMotion(Entity entity, double x, double y, double z) {
 		if(x == 0 && y == 0 && z == 0) {
 			return;
 		}
 		if(!entity.level().isClientSide) {
-			Vec3 base = toUpdate.getOrDefault(entity, Vec3.ZERO);
-			toUpdate.put(entity, base.add(x, y, z));
+			toUpdate.computeIfAbsent(entity.level(), level -> new PendingMotion()).add(entity, x, y, z);
 		}
 	}
 
 	@SubscribeEvent
-	public static void onPlayerTick(LevelTickEvent.Post e) {
-		if(!e.getLevel().isClientSide()) {
-			for(Entity entity : toUpdate.keySet()) {
-				if(!entity.hurtMarked) { // Allow velocity change packets to take priority.
-					Vec3 vec = toUpdate.get(entity);
-					if(vec != null) { // Edge case where the entity expired in the ms between calls
-						MessageAdditiveMotion motion = new MessageAdditiveMotion(entity.getId(), vec.x, vec.y, vec.z);
-						//We want a player's motion to be handled client-side to ensure movement consistency
-						//Otherwise it feels jerky.
-						if(entity instanceof ServerPlayer) {
-							MessageRegister.sendToPlayer((ServerPlayer) entity, motion);
-							((ServerPlayer) entity).connection.aboveGroundTickCount = -80; //Improve "Kicked for Flying"
-						} else {
-							entity.push(vec.x, vec.y, vec.z);
-						}
-						if(entity.level() instanceof ServerLevel) {
-							MessageRegister.sendToPlayersTrackingEntity(entity, motion);
-						}
+	public static void onLevelTick(LevelTickEvent.Post e) {
+		if(e.getLevel() instanceof ServerLevel level) {
+			PendingMotion pending = toUpdate.get(level);
+			if(pending != null && pending.size > 0) {
+				pending.flush(level);
+				pending.clear();
+			}
+		}
+	}
 
+	/**
+	 * The motion added to the entities of one level, indexed by the order they were first pushed in.
+	 */
+	private static final class PendingMotion {
+		private final Int2IntOpenHashMap indexById = new Int2IntOpenHashMap();
+		private Entity[] entities = new Entity[16];
+		private double[] motion = new double[48];
+		private int size;
+
+		private PendingMotion() {
+			indexById.defaultReturnValue(-1);
+		}
+
+		private void add(Entity entity, double x, double y, double z) {
+			int i = indexById.get(entity.getId());
+			if(i < 0) {
+				if(size == entities.length) {
+					entities = Arrays.copyOf(entities, size * 2);
+					motion = Arrays.copyOf(motion, size * 6);
+				}
+				i = size++;
+				indexById.put(entity.getId(), i);
+				entities[i] = entity;
+			}
+
+			motion[i * 3] += x;
+			motion[i * 3 + 1] += y;
+			motion[i * 3 + 2] += z;
+		}
+
+		private void flush(ServerLevel level) {
+			for(int i = 0; i < size; i++) {
+				Entity entity = entities[i];
+				if(entity.isRemoved() || entity.hurtMarked) { // Allow velocity change packets to take priority.
+					entities[i] = null;
+				} else if(entity instanceof ServerPlayer player) {
+					//We want a player's motion to be handled client-side to ensure movement consistency
+					//Otherwise it feels jerky.
+					player.connection.aboveGroundTickCount = -80; //Improve "Kicked for Flying"
+				} else {
+					entity.push(motion[i * 3], motion[i * 3 + 1], motion[i * 3 + 2]);
+				}
+			}
+
+			IntArrayList ids = new IntArrayList();
+			FloatArrayList motions = new FloatArrayList();
+			for(ServerPlayer player : level.players()) {
+				for(int i = 0; i < size; i++) {
+					Entity entity = entities[i];
+					if(entity != null && (entity == player || MessageRegister.isInTrackingRange(player, entity))) {
+						ids.add(entity.getId());
+						motions.add((float) motion[i * 3]);
+						motions.add((float) motion[i * 3 + 1]);
+						motions.add((float) motion[i * 3 + 2]);
 					}
 				}
+
+				if(!ids.isEmpty()) {
+					MessageRegister.sendToPlayer(player, new MessageAdditiveMotion(ids.toIntArray(), motions.toFloatArray()));
+					ids.clear();
+					motions.clear();
+				}
 			}
+		}
 
-			toUpdate.clear();
+		private void clear() {
+			Arrays.fill(entities, 0, size, null);
+			Arrays.fill(motion, 0, size * 3, 0);
+			indexById.clear();
+			size = 0;
 		}
 	}
 }
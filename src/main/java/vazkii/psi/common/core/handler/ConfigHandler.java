@@ -39,6 +39,9 @@ public static class Client {
 		public final ModConfigSpec.BooleanValue pauseGameInProgrammer;
 		public final ModConfigSpec.IntValue maxPsiBarScale;
 		public final ModConfigSpec.BooleanValue changeGridCoordinatesToLetterNumber;
+		public final ModConfigSpec.DoubleValue particleDensity;
+		public final ModConfigSpec.IntValue maxParticles;
+		public final ModConfigSpec.IntValue maxParticlesPerTick;
 
 		public Client(ModConfigSpec.Builder builder) {
 			useShaders = builder.comment("Controls whether Psi's shaders are used. If you're using the GLSL Shaders mod and are having graphical troubles with Psi stuff, you may want to turn this off.")
@@ -58,6 +61,15 @@ public Client(ModConfigSpec.Builder builder) {
 
 			changeGridCoordinatesToLetterNumber = builder.comment("Controls whether or not the Programmer will display the coordinates as a pair of two numbers or as a letter and a number")
 					.define("client.changeGridCoordinatesToLetterNumber", false);
+
+			particleDensity = builder.comment("Scales how many particles spells, casts and spell entities spawn. 0 turns them off, 1 is the default amount.")
+					.defineInRange("client.particleDensity", 1.0, 0.0, 2.0);
+
+			maxParticles = builder.comment("The most Psi particles that can be alive at once. Particles past this are not spawned.")
+					.defineInRange("client.maxParticles", 2000, 0, 16384);
+
+			maxParticlesPerTick = builder.comment("The most Psi particles that can be spawned in a single tick.")
+					.defineInRange("client.maxParticlesPerTick", 400, 0, 16384);
 		}
 
 	}
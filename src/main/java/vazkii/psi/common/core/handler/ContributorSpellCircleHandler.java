@@ -29,6 +29,7 @@
 public final class ContributorSpellCircleHandler {
 
 	private static volatile Map<String, int[]> colormap = Collections.emptyMap();
+	private static volatile int version = 0;
 	private static boolean startedLoading = false;
 
 	public static void load(Properties props) {
@@ -43,6 +44,7 @@ public static void load(Properties props) {
 			}
 		}
 		colormap = m;
+		version++;
 	}
 
 	public static void firstStart() {
@@ -60,6 +62,13 @@ public static boolean isContributor(String name) {
 		return colormap.containsKey(name);
 	}
 
+	/**
+	 * Changes every time the contributor list is (re)loaded, for anything caching contributor colors.
+	 */
+	public static int getVersion() {
+		return version;
+	}
+
 	@SubscribeEvent
 	public static void craftColorizer(PlayerEvent.ItemCraftedEvent event) {
 		if(ContributorSpellCircleHandler.isContributor(event.getEntity().getName().getString().toLowerCase(Locale.ROOT)) && event.getCrafting().getItem() instanceof ICADColorizer) {
@@ -0,0 +1,125 @@
+/*
+ * This class is distributed as part of the Psi Mod.
+ * Get the Source Code in github:
+ * https://github.com/Vazkii/Psi
+ *
+ * Psi is Open Source and distributed under the
+ * Psi License: https://psi.vazkii.net/license.php
+ */
+package vazkii.psi.common.core.handler;
+
+import net.minecraft.world.item.Item;
+import net.minecraft.world.item.ItemStack;
+import net.minecraft.world.item.Items;
+import net.minecraft.world.level.block.Block;
+import net.minecraft.world.level.block.state.BlockState;
+import net.neoforged.bus.api.SubscribeEvent;
+import net.neoforged.fml.common.EventBusSubscriber;
+import net.neoforged.neoforge.event.TagsUpdatedEvent;
+
+import vazkii.psi.common.lib.LibMisc;
+
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Caches which vanilla tool tiers can harvest each block state, indexed by the state's registry id.
+ * Entries are computed on first use and dropped whenever tags are reloaded, since tool rules are tag based.
+ */
+@EventBusSubscriber(modid = LibMisc.MOD_ID)
+public class HarvestabilityCache {
+
+	private static final List<List<ItemStack>> HARVEST_TOOLS_BY_LEVEL = List.of(
+			stacks(Items.WOODEN_PICKAXE, Items.WOODEN_AXE, Items.WOODEN_HOE, Items.WOODEN_SHOVEL),
+			stacks(Items.STONE_PICKAXE, Items.STONE_AXE, Items.STONE_HOE, Items.STONE_SHOVEL),
+			stacks(Items.IRON_PICKAXE, Items.IRON_AXE, Items.IRON_HOE, Items.IRON_SHOVEL),
+			stacks(Items.DIAMOND_PICKAXE, Items.DIAMOND_AXE, Items.DIAMOND_HOE, Items.DIAMOND_SHOVEL),
+			stacks(Items.NETHERITE_PICKAXE, Items.NETHERITE_AXE, Items.NETHERITE_HOE, Items.NETHERITE_SHOVEL)
+	);
+
+	// Entry layout: bits 0-4 are the tiers with a correct tool, bits 8-15 the harvest level
+	private static final int COMPUTED = 1 << 31;
+	private static final int NO_TOOL_REQUIRED = 1 << 30;
+	private static final int LEVEL_SHIFT = 8;
+	private static final int LEVEL_MASK = 0xFF;
+
+	private static volatile int[] cache = new int[0];
+
+	@SubscribeEvent
+	public static void onTagsUpdated(TagsUpdatedEvent event) {
+		cache = new int[0];
+	}
+
+	/**
+	 * @return whether a tool of the given tier (0 for wood up to 4 for netherite) can harvest the state
+	 */
+	public static boolean canHarvest(int harvestLevel, BlockState state) {
+		int info = lookup(state);
+		if((info & NO_TOOL_REQUIRED) != 0) {
+			return true;
+		}
+
+		int idx = Math.min(harvestLevel, HARVEST_TOOLS_BY_LEVEL.size() - 1);
+		return idx >= 0 && (info & (1 << idx)) != 0;
+	}
+
+	/**
+	 * @return 0 if the state can be harvested by hand, otherwise the lowest tool tier plus one
+	 */
+	public static int getHarvestLevel(BlockState state) {
+		return (lookup(state) >> LEVEL_SHIFT) & LEVEL_MASK;
+	}
+
+	private static int lookup(BlockState state) {
+		int id = Block.getId(state);
+		if(id < 0) {
+			return compute(state);
+		}
+
+		int[] table = cache;
+		if(id >= table.length) {
+			table = new int[Math.max(id + 1, Block.BLOCK_STATE_REGISTRY.size())];
+			cache = table;
+		}
+
+		int info = table[id];
+		if(info == 0) {
+			info = compute(state);
+			table[id] = info;
+		}
+		return info;
+	}
+
+	private static int compute(BlockState state) {
+		int info = COMPUTED;
+		if(!state.requiresCorrectToolForDrops()) {
+			info |= NO_TOOL_REQUIRED;
+		}
+
+		int harvestLevel = -1;
+		if(Items.AIR.isCorrectToolForDrops(Items.AIR.getDefaultInstance(), state)) {
+			harvestLevel = 0;
+		}
+		for(int i = 0; i < HARVEST_TOOLS_BY_LEVEL.size(); i++) {
+			for(ItemStack tool : HARVEST_TOOLS_BY_LEVEL.get(i)) {
+				if(tool.isCorrectToolForDrops(state)) {
+					info |= 1 << i;
+					if(harvestLevel == -1) {
+						harvestLevel = i + 1;
+					}
+					break;
+				}
+			}
+		}
+		if(harvestLevel == -1) {
+			harvestLevel = HARVEST_TOOLS_BY_LEVEL.size() + 1;
+		}
+
+		return info | (harvestLevel << LEVEL_SHIFT);
+	}
+
+	private static List<ItemStack> stacks(Item... items) {
+		return Stream.of(items).map(ItemStack::new).collect(Collectors.toList());
+	}
+}
@@ -0,0 +1,84 @@
+/*
+ * This class is distributed as part of the Psi Mod.
+ * Get the Source Code in github:
+ * https://github.com/Vazkii/Psi
+ *
+ * Psi is Open Source and distributed under the
+ * Psi License: https://psi.vazkii.net/license.php
+ */
+package vazkii.psi.common.core.handler;
+
+import net.minecraft.world.item.Item;
+import net.minecraft.world.item.ItemStack;
+
+import org.jetbrains.annotations.Nullable;
+
+import vazkii.psi.api.PsiAPI;
+import vazkii.psi.api.cad.ISocketable;
+import vazkii.psi.api.spell.CompiledSpell;
+import vazkii.psi.api.spell.ISpellAcceptor;
+
+/**
+ * What a running loopcast was started with: the casting item, its selected socket and a copy of the bullet in it.
+ * Lets {@link PlayerDataHandler.PlayerData#tick()} validate the loopcast every tick without copying the whole CAD,
+ * and keeps the compiled spell around until the bullet changes.
+ */
+public class LoopcastSession {
+
+	private final Item item;
+	private int selectedSlot;
+	private ItemStack bullet;
+	private int bulletFingerprint;
+	@Nullable
+	private CompiledSpell spell;
+	private boolean spellResolved;
+
+	public LoopcastSession(ItemStack stack, ISocketable socketable) {
+		item = stack.getItem();
+		onSocketChanged(socketable);
+	}
+
+	/**
+	 * Checks that the stack is still the item the loopcast was started with, set to the same socket.
+	 */
+	public boolean matches(ItemStack stack, ISocketable socketable) {
+		return stack.getItem() == item && socketable.getSelectedSlot() == selectedSlot;
+	}
+
+	/**
+	 * Checks that the bullet about to be cast has the same contents the session was started with.
+	 */
+	public boolean isSameBullet(ItemStack bullet) {
+		// The hash rules most changes out cheaply, the comparison guards against collisions
+		return fingerprint(bullet) == bulletFingerprint && bullet.getCount() == this.bullet.getCount()
+				&& ItemStack.isSameItemSameComponents(bullet, this.bullet);
+	}
+
+	/**
+	 * Must be called when a spell changes the selected socket of the loopcasting item, so the loopcast
+	 * carries on with the new bullet instead of stopping.
+	 */
+	public void onSocketChanged(ISocketable socketable) {
+		selectedSlot = socketable.getSelectedSlot();
+		bullet = socketable.getSelectedBullet().copy();
+		bulletFingerprint = fingerprint(bullet);
+		spell = null;
+		spellResolved = false;
+	}
+
+	/**
+	 * @return the compiled spell of the bullet, compiled or pulled from the spell cache on first use
+	 */
+	@Nullable
+	public CompiledSpell getSpell(ISpellAcceptor spellContainer) {
+		if(!spellResolved) {
+			spell = PsiAPI.internalHandler.getSpellCache().getCompiledSpell(spellContainer.getSpell());
+			spellResolved = true;
+		}
+		return spell;
+	}
+
+	private static int fingerprint(ItemStack bullet) {
+		return 31 * ItemStack.hashItemAndComponents(bullet) + bullet.getCount();
+	}
+}
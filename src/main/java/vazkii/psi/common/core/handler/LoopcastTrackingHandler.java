@@ -8,57 +8,135 @@
  */
 package vazkii.psi.common.core.handler;
 
+import it.unimi.dsi.fastutil.bytes.ByteArrayList;
+import it.unimi.dsi.fastutil.ints.Int2ByteOpenHashMap;
+import it.unimi.dsi.fastutil.ints.IntArrayList;
+
 import net.minecraft.server.level.ServerPlayer;
 import net.minecraft.world.entity.player.Player;
 import net.neoforged.bus.api.SubscribeEvent;
 import net.neoforged.fml.common.EventBusSubscriber;
 import net.neoforged.neoforge.event.entity.player.PlayerEvent;
+import net.neoforged.neoforge.event.tick.ServerTickEvent;
 
 import vazkii.psi.common.lib.LibMisc;
 import vazkii.psi.common.network.MessageRegister;
 import vazkii.psi.common.network.message.MessageLoopcastSync;
 
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.WeakHashMap;
+
+/**
+ * Keeps clients up to date with the loopcast state of the players they can see. Every receiver remembers the last
+ * state it was sent for each player, so a sync only costs a packet when the state actually changed, and all the
+ * syncs a receiver gets in a tick go out together at the end of it.
+ * <p>
+ * Clients start out assuming a player isn't loopcasting, so newly tracked players only need a sync if they are.
+ */
 @EventBusSubscriber(modid = LibMisc.MOD_ID)
 public class LoopcastTrackingHandler {
+	private static final Map<ServerPlayer, Int2ByteOpenHashMap> lastSent = new WeakHashMap<>();
+	private static final Map<ServerPlayer, Set<Player>> pending = new LinkedHashMap<>();
+
 	@SubscribeEvent
 	public static void onPlayerStartTracking(PlayerEvent.StartTracking event) {
-		if(event.getTarget() instanceof Player) {
-			syncDataFor((Player) event.getTarget(), (ServerPlayer) event.getEntity());
+		if(event.getTarget() instanceof Player player) {
+			// The client makes a fresh entity, and with it fresh player data
+			getLastSent((ServerPlayer) event.getEntity()).remove(player.getId());
+			syncDataFor(player, (ServerPlayer) event.getEntity());
+		}
+	}
+
+	@SubscribeEvent
+	public static void onPlayerStopTracking(PlayerEvent.StopTracking event) {
+		if(event.getTarget() instanceof Player player) {
+			getLastSent((ServerPlayer) event.getEntity()).remove(player.getId());
 		}
 	}
 
 	@SubscribeEvent
 	public static void onPlayerChangeDimension(PlayerEvent.PlayerChangedDimensionEvent event) {
+		lastSent.remove((ServerPlayer) event.getEntity());
 		syncDataFor(event.getEntity(), (ServerPlayer) event.getEntity());
 	}
 
 	@SubscribeEvent
 	public static void onPlayerLogIn(PlayerEvent.PlayerLoggedInEvent event) {
+		lastSent.remove((ServerPlayer) event.getEntity());
 		syncDataFor(event.getEntity(), (ServerPlayer) event.getEntity());
 	}
 
+	@SubscribeEvent
+	public static void onPlayerLogOut(PlayerEvent.PlayerLoggedOutEvent event) {
+		lastSent.remove((ServerPlayer) event.getEntity());
+		pending.remove((ServerPlayer) event.getEntity());
+	}
+
 	@SubscribeEvent
 	public static void onPlayerRespawn(PlayerEvent.PlayerRespawnEvent event) {
+		getLastSent((ServerPlayer) event.getEntity()).remove(event.getEntity().getId());
 		syncDataFor(event.getEntity(), (ServerPlayer) event.getEntity());
 	}
 
+	/**
+	 * Queues the loopcast state of the player to be sent to the receiver at the end of the tick, if it changed.
+	 */
 	public static void syncDataFor(Player player, ServerPlayer receiver) {
-		PlayerDataHandler.PlayerData data = PlayerDataHandler.get(player);
-
-		MessageRegister.sendToPlayer(receiver, new MessageLoopcastSync(player.getId(), data.loopcasting, data.loopcastHand));
+		pending.computeIfAbsent(receiver, r -> new LinkedHashSet<>()).add(player);
 	}
 
 	public static void syncForTrackers(ServerPlayer player) {
+		for(ServerPlayer receiver : player.serverLevel().players()) {
+			if(receiver != player && MessageRegister.isInTrackingRange(receiver, player)) {
+				syncDataFor(player, receiver);
+			}
+		}
+	}
 
-		PlayerDataHandler.PlayerData data = PlayerDataHandler.get(player);
-		MessageRegister.sendToPlayersTrackingEntity(player, new MessageLoopcastSync(player.getId(), data.loopcasting, data.loopcastHand));
+	public static void syncForTrackersAndSelf(ServerPlayer playerEntity) {
+		syncForTrackers(playerEntity);
+		syncDataFor(playerEntity, playerEntity);
+	}
 
+	@SubscribeEvent
+	public static void onServerTick(ServerTickEvent.Post event) {
+		if(pending.isEmpty()) {
+			return;
+		}
+
+		IntArrayList ids = new IntArrayList();
+		ByteArrayList states = new ByteArrayList();
+		for(Map.Entry<ServerPlayer, Set<Player>> entry : pending.entrySet()) {
+			ServerPlayer receiver = entry.getKey();
+			if(receiver.hasDisconnected()) {
+				continue;
+			}
+
+			Int2ByteOpenHashMap sent = getLastSent(receiver);
+			for(Player player : entry.getValue()) {
+				PlayerDataHandler.PlayerData data = PlayerDataHandler.get(player);
+				byte state = MessageLoopcastSync.getState(data.loopcasting, data.loopcastHand);
+				if(sent.get(player.getId()) != state) {
+					sent.put(player.getId(), state);
+					ids.add(player.getId());
+					states.add(state);
+				}
+			}
+
+			if(!ids.isEmpty()) {
+				MessageRegister.sendToPlayer(receiver, new MessageLoopcastSync(ids.toIntArray(), states.toByteArray()));
+				ids.clear();
+				states.clear();
+			}
+		}
+		pending.clear();
 	}
 
-	public static void syncForTrackersAndSelf(ServerPlayer playerEntity) {
-		PlayerDataHandler.PlayerData data = PlayerDataHandler.get(playerEntity);
-		MessageLoopcastSync messageLoopcastSync = new MessageLoopcastSync(playerEntity.getId(), data.loopcasting, data.loopcastHand);
-		MessageRegister.sendToPlayersTrackingEntity(playerEntity, messageLoopcastSync);
-		MessageRegister.sendToPlayer(playerEntity, messageLoopcastSync);
+	private static Int2ByteOpenHashMap getLastSent(ServerPlayer receiver) {
+		// Default return value is 0, the state of a player that isn't loopcasting
+		return lastSent.computeIfAbsent(receiver, r -> new Int2ByteOpenHashMap());
 	}
 }
@@ -13,10 +13,9 @@
 
 import net.minecraft.advancements.AdvancementHolder;
 import net.minecraft.client.Minecraft;
-import net.minecraft.client.renderer.MultiBufferSource;
 import net.minecraft.client.renderer.entity.EntityRenderDispatcher;
-import net.minecraft.core.BlockPos;
 import net.minecraft.core.Registry;
+import net.minecraft.core.registries.BuiltInRegistries;
 import net.minecraft.nbt.CompoundTag;
 import net.minecraft.resources.ResourceLocation;
 import net.minecraft.server.level.ServerPlayer;
@@ -39,6 +38,7 @@
 import net.neoforged.neoforge.client.event.RenderLevelStageEvent;
 import net.neoforged.neoforge.common.NeoForge;
 import net.neoforged.neoforge.event.entity.living.LivingDamageEvent;
+import net.neoforged.neoforge.event.entity.living.LivingEquipmentChangeEvent;
 import net.neoforged.neoforge.event.entity.living.LivingEvent.LivingJumpEvent;
 import net.neoforged.neoforge.event.entity.player.PlayerEvent;
 import net.neoforged.neoforge.event.tick.PlayerTickEvent;
@@ -49,16 +49,17 @@
 
 import vazkii.psi.api.PsiAPI;
 import vazkii.psi.api.cad.*;
+import vazkii.psi.api.exosuit.EnumArmorEvent;
 import vazkii.psi.api.exosuit.IPsiEventArmor;
 import vazkii.psi.api.exosuit.PsiArmorEvent;
 import vazkii.psi.api.internal.IPlayerData;
-import vazkii.psi.api.internal.PsiRenderHelper;
 import vazkii.psi.api.internal.Vector3;
 import vazkii.psi.api.spell.*;
 import vazkii.psi.client.core.handler.ClientTickHandler;
 import vazkii.psi.client.render.entity.RenderSpellCircle;
 import vazkii.psi.common.Psi;
 import vazkii.psi.common.item.ItemCAD;
+import vazkii.psi.common.item.ItemSpellBullet;
 import vazkii.psi.common.lib.LibMisc;
 import vazkii.psi.common.lib.LibResources;
 import vazkii.psi.common.network.MessageRegister;
@@ -137,8 +138,11 @@ public static void onPlayerTick(PlayerTickEvent.Pre event) {
 					((ICAD) cadStack.getItem()).incrementTime(cadStack);
 				}
 
-				PsiArmorEvent.post(new PsiArmorEvent(player, PsiArmorEvent.TICK));
-				PlayerDataHandler.get(player).tick();
+				PlayerData data = PlayerDataHandler.get(player);
+				if(data.isArmed(EnumArmorEvent.TICK)) {
+					PsiArmorEvent.post(new PsiArmorEvent(player, EnumArmorEvent.TICK));
+				}
+				data.tick();
 			}
 		}
 
@@ -152,9 +156,9 @@ public static void onEntityDamage(LivingDamageEvent.Pre event) {
 					attacker = (LivingEntity) event.getSource().getEntity();
 				}
 
-				PsiArmorEvent.post(new PsiArmorEvent(player, PsiArmorEvent.DAMAGE, event.getNewDamage(), attacker));
+				PsiArmorEvent.post(new PsiArmorEvent(player, EnumArmorEvent.DAMAGE, event.getNewDamage(), attacker));
 				if(event.getSource().is(DamageTypes.ON_FIRE) || event.getSource().is(DamageTypes.IN_FIRE)) {
-					PsiArmorEvent.post(new PsiArmorEvent(player, PsiArmorEvent.ON_FIRE));
+					PsiArmorEvent.post(new PsiArmorEvent(player, EnumArmorEvent.ON_FIRE));
 				}
 			}
 		}
@@ -170,14 +174,15 @@ public static void onPlayerLogin(PlayerEvent.PlayerLoggedInEvent event) {
 		@SubscribeEvent
 		public static void onEntityJump(LivingJumpEvent event) {
 			if(event.getEntity() instanceof Player player && event.getEntity().level().isClientSide && !event.getEntity().isSpectator()) {
-				PsiArmorEvent.post(new PsiArmorEvent(player, PsiArmorEvent.JUMP));
+				PsiArmorEvent.post(new PsiArmorEvent(player, EnumArmorEvent.JUMP));
 				MessageRegister.sendToServer(new MessageTriggerJumpSpell());
 			}
 		}
 
 		@SubscribeEvent
 		public static void onPsiArmorEvent(PsiArmorEvent event) {
-			if(event.getEntity().isSpectator()) {
+			// Triggers other mods define have no bit, so they always reach the armor
+			if(event.getEntity().isSpectator() || event.trigger != null && !get(event.getEntity()).isArmed(event.trigger)) {
 				return;
 			}
 
@@ -189,6 +194,13 @@ public static void onPsiArmorEvent(PsiArmorEvent event) {
 			}
 		}
 
+		@SubscribeEvent
+		public static void onEquipmentChange(LivingEquipmentChangeEvent event) {
+			if(event.getSlot().isArmor() && event.getEntity() instanceof Player player) {
+				get(player).markArmorChanged();
+			}
+		}
+
 		@SubscribeEvent
 		public static void onChangeDimension(PlayerEvent.PlayerChangedDimensionEvent event) {
 			get(event.getEntity()).eidosChangelog.clear();
@@ -205,6 +217,7 @@ public static void onRenderWorldLast(RenderLevelStageEvent event) {
 					for(Player player : mc.level.players()) {
 						PlayerDataHandler.get(player).render(player, partialTicks, event.getPoseStack());
 					}
+					RenderSpellCircle.endBatch(mc.renderBuffers().bufferSource());
 				}
 			}
 		}
@@ -252,7 +265,7 @@ public static class PlayerData implements IPlayerData {
 		public int regenCooldown;
 		public boolean loopcasting = false;
 		public InteractionHand loopcastHand = null;
-		public ItemStack lastTickLoopcastStack;
+		public LoopcastSession loopcastSession;
 		public int loopcastTime = 1;
 		public int loopcastAmount = 0;
 		public int loopcastFadeTime = 0;
@@ -268,6 +281,9 @@ public static class PlayerData implements IPlayerData {
 		public boolean deductTick;
 		// Exosuit Event Stuff
 		private boolean lowLight, underwater, lowHp;
+		private final ItemStack[] armedArmor = new ItemStack[4];
+		private int armedTriggers;
+		private boolean armorChanged;
 		// Custom Data
 		private CompoundTag customData;
 
@@ -316,16 +332,6 @@ public void tick() {
 				applyRegen(player, max, cadStack);
 			}
 
-			int color = ICADColorizer.DEFAULT_SPELL_COLOR;
-
-			if(!cadStack.isEmpty()) {
-				color = Psi.proxy.getColorForCAD(cadStack);
-			}
-
-			float r = PsiRenderHelper.r(color) / 255F;
-			float g = PsiRenderHelper.g(color) / 255F;
-			float b = PsiRenderHelper.b(color) / 255F;
-
 			loopcast: {
 				if(player.isSpectator()) {
 					stopLoopcast();
@@ -337,49 +343,22 @@ public void tick() {
 
 				if(loopcasting && loopcastHand != null) {
 					ItemStack stackInHand = player.getItemInHand(loopcastHand);
+					ISocketable socketable = stackInHand.isEmpty() ? null : stackInHand.getCapability(PsiAPI.SOCKETABLE_CAPABILITY);
 
-					if(stackInHand.isEmpty() ||
-							!ISocketable.isSocketable(stackInHand) ||
-							!ISocketable.socketable(stackInHand).canLoopcast()) {
+					if(socketable == null || !socketable.canLoopcast()) {
 						stopLoopcast();
 						break loopcast;
 					}
 
-					if(lastTickLoopcastStack != null) {
-						if(!ItemStack.isSameItem(lastTickLoopcastStack, stackInHand) ||
-								!ISocketable.isSocketable(lastTickLoopcastStack)) {
-							stopLoopcast();
-							break loopcast;
-						} else {
-							ISocketable lastTickItem = ISocketable.socketable(lastTickLoopcastStack);
-							ISocketable thisTickItem = ISocketable.socketable(stackInHand);
-
-							int lastSlot = lastTickItem.getSelectedSlot();
-							int thisSlot = thisTickItem.getSelectedSlot();
-							if(lastSlot != thisSlot) {
-								stopLoopcast();
-								break loopcast;
-							}
-
-							ItemStack lastTick = lastTickItem.getBulletInSocket(lastSlot);
-							ItemStack thisTick = thisTickItem.getBulletInSocket(thisSlot);
-							if(!ItemStack.matches(lastTick, thisTick)) {
-								stopLoopcast();
-								break loopcast;
-							}
-						}
+					if(loopcastSession == null) {
+						loopcastSession = new LoopcastSession(stackInHand, socketable);
+					} else if(!loopcastSession.matches(stackInHand, socketable)) {
+						stopLoopcast();
+						break loopcast;
 					}
 
-					lastTickLoopcastStack = stackInHand.copy();
-
-					ISocketable socketable = ISocketable.socketable(stackInHand);
-
-					for(int i = 0; i < 5; i++) {
-						double x = player.getX() + (Math.random() - 0.5) * 2.1 * player.getBbWidth();
-						double y = player.getY() + 0.35D;
-						double z = player.getZ() + (Math.random() - 0.5) * 2.1 * player.getBbWidth();
-						float grav = -0.15F - (float) Math.random() * 0.03F;
-						Psi.proxy.sparkleFX(x, y, z, r, g, b, grav, 0.25F, 15);
+					if(client) {
+						Psi.proxy.loopcastFX(player, cadStack);
 					}
 
 					if(loopcastTime > 0 && loopcastTime % 5 == 0) {
@@ -389,30 +368,42 @@ public void tick() {
 							break loopcast;
 						}
 
+						if(!loopcastSession.isSameBullet(bullet)) {
+							stopLoopcast();
+							break loopcast;
+						}
+
 						ISpellAcceptor spellContainer = ISpellAcceptor.acceptor(bullet);
-						Spell spell = spellContainer.getSpell();
-						SpellContext context = new SpellContext().setPlayer(player).setSpell(spell).setLoopcastIndex(loopcastAmount + 1);
+						// Only Psi's own bullets are known not to hold on to the context, so only theirs go back to the pool
+						boolean ownsContext = isPsiBullet(bullet, spellContainer);
+						SpellContext context = (ownsContext ? SpellContext.obtain() : new SpellContext()).setPlayer(player).setCompiledSpell(loopcastSession.getSpell(spellContainer)).setLoopcastIndex(loopcastAmount + 1);
 						context.castFrom = loopcastHand;
-						if(context.isValid()) {
-							if(context.cspell.metadata.evaluateAgainst(cadStack)) {
-								int cost = ItemCAD.getRealCost(cadStack, bullet, context.cspell.metadata.getStat(EnumSpellStat.COST));
-								if(cost > 0 || cost == -1) {
-									if(cost != -1) {
-										deductPsi(cost, 0, true);
+						try {
+							if(context.isValid()) {
+								if(context.cspell.metadata.evaluateAgainst(cadStack)) {
+									int cost = ItemCAD.getRealCost(cadStack, bullet, context.cspell.metadata.getStat(EnumSpellStat.COST));
+									if(cost > 0 || cost == -1) {
+										if(cost != -1) {
+											deductPsi(cost, 0, true);
+										}
+
+										if(!player.getCommandSenderWorld().isClientSide && loopcastTime % 10 == 0) {
+											player.getCommandSenderWorld().playSound(null, player.getX(), player.getY(), player.getZ(), PsiSoundHandler.loopcast, SoundSource.PLAYERS, 0.1F, (float) (0.15 + Math.random() * 0.85));
+										}
 									}
 
-									if(!player.getCommandSenderWorld().isClientSide && loopcastTime % 10 == 0) {
-										player.getCommandSenderWorld().playSound(null, player.getX(), player.getY(), player.getZ(), PsiSoundHandler.loopcast, SoundSource.PLAYERS, 0.1F, (float) (0.15 + Math.random() * 0.85));
+									if(!player.getCommandSenderWorld().isClientSide) {
+										if(!spellContainer.loopcastSpell(context)) {
+											stopLoopcast();
+											break loopcast;
+										}
 									}
+									loopcastAmount++;
 								}
-
-								if(!player.getCommandSenderWorld().isClientSide) {
-									if(!spellContainer.loopcastSpell(context)) {
-										stopLoopcast();
-										break loopcast;
-									}
-								}
-								loopcastAmount++;
+							}
+						} finally {
+							if(ownsContext) {
+								SpellContext.release(context);
 							}
 						}
 					}
@@ -476,15 +467,7 @@ public void tick() {
 						}
 
 						if(player.level().isClientSide) {
-							for(int i = 0; i < 5; i++) {
-								double spread = 0.6;
-
-								double x = player.getX() + (Math.random() - 0.5) * spread;
-								double y = player.getY() + (Math.random() - 0.5) * spread;
-								double z = player.getZ() + (Math.random() - 0.5) * spread;
-
-								Psi.proxy.sparkleFX(x, y, z, r, g, b, 0, 0, 0, 1.2F, 12);
-							}
+							Psi.proxy.eidosReversionFX(player, cadStack);
 						}
 
 						player.setDeltaMovement(0, 0, 0);
@@ -504,24 +487,24 @@ public void tick() {
 				eidosChangelog.push(Vector3.fromEntity(player));
 			}
 
-			BlockPos pos = player.blockPosition();
-			int light = player.getCommandSenderWorld().getLightEngine().getRawBrightness(pos, 0);
+			// Unarmed triggers count as already active, so putting a sensor on doesn't fire it straight away
+			int armed = getArmedTriggers();
 
-			boolean lowLight = light == 0;
+			boolean lowLight = !EnumArmorEvent.LOW_LIGHT.isIn(armed) || player.getCommandSenderWorld().getLightEngine().getRawBrightness(player.blockPosition(), 0) == 0;
 			if(!this.lowLight && lowLight) {
-				PsiArmorEvent.post(new PsiArmorEvent(player, PsiArmorEvent.LOW_LIGHT));
+				PsiArmorEvent.post(new PsiArmorEvent(player, EnumArmorEvent.LOW_LIGHT));
 			}
 			this.lowLight = lowLight;
 
-			boolean underwater = player.isInWater();
+			boolean underwater = !EnumArmorEvent.UNDERWATER.isIn(armed) || player.isInWater();
 			if(!this.underwater && underwater) {
-				PsiArmorEvent.post(new PsiArmorEvent(player, PsiArmorEvent.UNDERWATER));
+				PsiArmorEvent.post(new PsiArmorEvent(player, EnumArmorEvent.UNDERWATER));
 			}
 			this.underwater = underwater;
 
-			boolean lowHp = player.getHealth() <= 6;
+			boolean lowHp = !EnumArmorEvent.LOW_HP.isIn(armed) || player.getHealth() <= 6;
 			if(!this.lowHp && lowHp) {
-				PsiArmorEvent.post(new PsiArmorEvent(player, PsiArmorEvent.LOW_HP));
+				PsiArmorEvent.post(new PsiArmorEvent(player, EnumArmorEvent.LOW_HP));
 			}
 			this.lowHp = lowHp;
 
@@ -538,6 +521,11 @@ public void tick() {
 			lastDimension = dimension;
 		}
 
+		private static boolean isPsiBullet(ItemStack bullet, ISpellAcceptor spellContainer) {
+			return spellContainer.getClass() == ItemSpellBullet.SpellAcceptor.class
+					&& LibMisc.MOD_ID.equals(BuiltInRegistries.ITEM.getKey(bullet.getItem()).getNamespace());
+		}
+
 		private void applyRegen(Player player, int max, ItemStack cadStack) {
 			RegenPsiEvent event = new RegenPsiEvent(player, this, cadStack);
 
@@ -573,6 +561,48 @@ private void applyRegen(Player player, int max, ItemStack cadStack) {
 			}
 		}
 
+		/**
+		 * @return the {@link EnumArmorEvent} triggers the armor worn by the player listens to, recomputed only
+		 * when a piece is swapped out or changed
+		 */
+		public int getArmedTriggers() {
+			Player player = playerWR.get();
+			if(player == null) {
+				return 0;
+			}
+
+			List<ItemStack> armor = player.getInventory().armor;
+			for(int i = 0; i < armedArmor.length; i++) {
+				ItemStack stack = armor.get(i);
+				if(stack != armedArmor[i]) {
+					armedArmor[i] = stack;
+					armorChanged = true;
+				}
+			}
+
+			if(armorChanged) {
+				armorChanged = false;
+				armedTriggers = 0;
+				for(ItemStack stack : armedArmor) {
+					if(!stack.isEmpty() && stack.getItem() instanceof IPsiEventArmor handler) {
+						armedTriggers |= handler.getArmedTriggers(stack);
+					}
+				}
+			}
+			return armedTriggers;
+		}
+
+		public boolean isArmed(EnumArmorEvent type) {
+			return type.isIn(getArmedTriggers());
+		}
+
+		/**
+		 * Marks the armed triggers for recomputation, for armor pieces that were modified without being replaced.
+		 */
+		public void markArmorChanged() {
+			armorChanged = true;
+		}
+
 		public void stopLoopcast() {
 			Player player = playerWR.get();
 
@@ -582,7 +612,7 @@ public void stopLoopcast() {
 			}
 			loopcasting = false;
 
-			lastTickLoopcastStack = null;
+			loopcastSession = null;
 			loopcastHand = null;
 
 			loopcastTime = 1;
@@ -845,9 +875,7 @@ public void render(Player player, float partTicks, PoseStack ms) {
 
 			ms.pushPose();
 			ms.translate(x, y + 0.15, z);
-			MultiBufferSource.BufferSource buffers = Minecraft.getInstance().renderBuffers().bufferSource();
-			RenderSpellCircle.renderSpellCircle(ClientTickHandler.ticksInGame + partTicks, scale, 1, 0, -1, 0, color, ms, buffers);
-			buffers.endBatch();
+			RenderSpellCircle.renderSpellCircle(ClientTickHandler.ticksInGame + partTicks, scale, 1, 0, -1, 0, color, ms, Minecraft.getInstance().renderBuffers().bufferSource());
 			ms.popPose();
 		}
 
@@ -0,0 +1,108 @@
+/*
+ * This class is distributed as part of the Psi Mod.
+ * Get the Source Code in github:
+ * https://github.com/Vazkii/Psi
+ *
+ * Psi is Open Source and distributed under the
+ * Psi License: https://psi.vazkii.net/license.php
+ */
+package vazkii.psi.common.core.handler;
+
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.server.level.ServerPlayer;
+import net.minecraft.world.entity.Entity;
+import net.minecraft.world.item.ItemStack;
+import net.minecraft.world.phys.Vec3;
+import net.neoforged.bus.api.SubscribeEvent;
+import net.neoforged.fml.common.EventBusSubscriber;
+import net.neoforged.neoforge.event.tick.ServerTickEvent;
+
+import vazkii.psi.common.lib.LibMisc;
+import vazkii.psi.common.network.MessageRegister;
+import vazkii.psi.common.network.message.MessageVisualEffect;
+import vazkii.psi.common.network.message.MessageVisualEffect.Effect;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Collects the visual effects each player should see over a server tick and sends them as one
+ * {@link MessageVisualEffect} at the end of it.
+ */
+@EventBusSubscriber(modid = LibMisc.MOD_ID)
+public class VisualEffectHandler {
+	// Keeps single packets well below the payload size limit when a spell goes overboard
+	private static final int MAX_EFFECTS_PER_MESSAGE = 4096;
+
+	private static final Map<ServerPlayer, Batch> pending = new LinkedHashMap<>();
+
+	/**
+	 * Shows a particle trail to every player in the level.
+	 *
+	 * @param colorizer the colorizer of the casting CAD, or an empty stack for the default spell color
+	 */
+	public static void particleTrail(ServerLevel level, Vec3 position, Vec3 direction, double length, int time, ItemStack colorizer) {
+		for(ServerPlayer player : level.players()) {
+			queue(player, colorizer, MessageVisualEffect.TYPE_PARTICLE_TRAIL, position.x, position.y, position.z,
+					(float) direction.x, (float) direction.y, (float) direction.z, (float) length, time);
+		}
+	}
+
+	/**
+	 * Shows the trick crafting effect on an item entity to the players that can see it.
+	 */
+	public static void craft(Entity item, ItemStack colorizer) {
+		if(item.level() instanceof ServerLevel level) {
+			for(ServerPlayer player : level.players()) {
+				if(MessageRegister.isInTrackingRange(player, item)) {
+					queue(player, colorizer, MessageVisualEffect.TYPE_CRAFT, item.getX(), item.getY(), item.getZ(),
+							item.getBbWidth(), item.getBbHeight(), 0, 0, 0);
+				}
+			}
+		}
+	}
+
+	private static void queue(ServerPlayer player, ItemStack colorizer, int type, double x, double y, double z, float a, float b, float c, float d, int time) {
+		Batch batch = pending.computeIfAbsent(player, p -> new Batch());
+		batch.effects.add(new Effect(type, batch.indexOf(colorizer), x, y, z, a, b, c, d, time));
+		if(batch.effects.size() >= MAX_EFFECTS_PER_MESSAGE) {
+			pending.remove(player);
+			MessageRegister.sendToPlayer(player, batch.toMessage());
+		}
+	}
+
+	@SubscribeEvent
+	public static void onServerTick(ServerTickEvent.Post event) {
+		if(pending.isEmpty()) {
+			return;
+		}
+
+		for(Map.Entry<ServerPlayer, Batch> entry : pending.entrySet()) {
+			if(!entry.getKey().hasDisconnected()) {
+				MessageRegister.sendToPlayer(entry.getKey(), entry.getValue().toMessage());
+			}
+		}
+		pending.clear();
+	}
+
+	private static final class Batch {
+		private final List<ItemStack> colorizers = new ArrayList<>();
+		private final List<Effect> effects = new ArrayList<>();
+
+		private int indexOf(ItemStack colorizer) {
+			for(int i = 0; i < colorizers.size(); i++) {
+				if(ItemStack.isSameItemSameComponents(colorizers.get(i), colorizer)) {
+					return i;
+				}
+			}
+			colorizers.add(colorizer.copyWithCount(1));
+			return colorizers.size() - 1;
+		}
+
+		private MessageVisualEffect toMessage() {
+			return new MessageVisualEffect(colorizers, effects);
+		}
+	}
+}
@@ -10,12 +10,15 @@
 
 import net.minecraft.core.particles.ParticleOptions;
 import net.minecraft.resources.ResourceLocation;
+import net.minecraft.world.entity.Entity;
 import net.minecraft.world.entity.player.Player;
 import net.minecraft.world.item.ItemStack;
 import net.minecraft.world.level.Level;
 import net.neoforged.bus.api.IEventBus;
 
 import vazkii.psi.common.block.tile.TileProgrammer;
+import vazkii.psi.common.entity.EntitySpellCircle;
+import vazkii.psi.common.entity.EntitySpellProjectile;
 
 import java.awt.*;
 
@@ -73,6 +76,22 @@ default void wispFX(double x, double y, double z, float r, float g, float b, flo
 
 	void wispFX(double x, double y, double z, float r, float g, float b, float size, float motionX, float motionY, float motionZ, float maxAgeMul);
 
+	// Spell particles are client-only, so the server skips all of their math
+	default void castFX(Player player, ItemStack cad, int particles) {}
+
+	default void loopcastFX(Player player, ItemStack cad) {}
+
+	default void eidosReversionFX(Player player, ItemStack cad) {}
+
+	default void spellProjectileFX(EntitySpellProjectile projectile) {}
+
+	default void spellExplosionFX(Entity entity) {}
+
+	default void spellCircleFX(EntitySpellCircle circle) {}
+
+	// Called when the server sends the client player's Psi data, which the HUD caches
+	default void onPsiDataSynced() {}
+
 	void openProgrammerGUI(TileProgrammer programmer);
 
 	void openFlashRingGUI(ItemStack stack);
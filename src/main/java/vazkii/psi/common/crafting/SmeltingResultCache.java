@@ -0,0 +1,76 @@
+/*
+ * This class is distributed as part of the Psi Mod.
+ * Get the Source Code in github:
+ * https://github.com/Vazkii/Psi
+ *
+ * Psi is Open Source and distributed under the
+ * Psi License: https://psi.vazkii.net/license.php
+ */
+package vazkii.psi.common.crafting;
+
+import it.unimi.dsi.fastutil.objects.Object2ObjectOpenCustomHashMap;
+
+import net.minecraft.core.RegistryAccess;
+import net.minecraft.world.item.ItemStack;
+import net.minecraft.world.item.ItemStackLinkedSet;
+import net.minecraft.world.item.crafting.RecipeManager;
+import net.minecraft.world.item.crafting.RecipeType;
+import net.minecraft.world.item.crafting.SingleRecipeInput;
+import net.minecraft.world.level.Level;
+import net.neoforged.bus.api.SubscribeEvent;
+import net.neoforged.fml.common.EventBusSubscriber;
+import net.neoforged.neoforge.event.TagsUpdatedEvent;
+
+import org.jetbrains.annotations.Nullable;
+
+import vazkii.psi.common.lib.LibMisc;
+
+/**
+ * Smelting results by input item and components, including the inputs that can't be smelted. Shared by the
+ * smeltable selector and the smelting tricks, and dropped whenever the recipe manager is replaced or tags reload.
+ */
+@EventBusSubscriber(modid = LibMisc.MOD_ID)
+public final class SmeltingResultCache {
+
+	// Stacks with their own components (damaged tools and such) could otherwise grow this forever
+	private static final int MAX_ENTRIES = 4096;
+
+	private static final Object2ObjectOpenCustomHashMap<ItemStack, ItemStack> results = new Object2ObjectOpenCustomHashMap<>(ItemStackLinkedSet.TYPE_AND_TAG);
+	@Nullable
+	private static RecipeManager cachedManager;
+
+	@SubscribeEvent
+	public static void onTagsUpdated(TagsUpdatedEvent event) {
+		synchronized(results) {
+			cachedManager = null;
+		}
+	}
+
+	/**
+	 * @return the smelting result of the stack, or an empty stack if it can't be smelted. The returned stack is
+	 * shared and must not be modified.
+	 */
+	public static ItemStack getResult(Level world, ItemStack input) {
+		if(input.isEmpty()) {
+			return ItemStack.EMPTY;
+		}
+
+		RecipeManager manager = world.getRecipeManager();
+		synchronized(results) {
+			if(manager != cachedManager || results.size() >= MAX_ENTRIES) {
+				results.clear();
+				cachedManager = manager;
+			}
+
+			ItemStack result = results.get(input);
+			if(result == null) {
+				result = manager.getRecipeFor(RecipeType.SMELTING, new SingleRecipeInput(input), world)
+						.map(holder -> holder.value().getResultItem(RegistryAccess.EMPTY))
+						.orElse(ItemStack.EMPTY);
+				results.put(input.copyWithCount(1), result);
+			}
+			return result;
+		}
+	}
+
+}
@@ -0,0 +1,130 @@
+/*
+ * This class is distributed as part of the Psi Mod.
+ * Get the Source Code in github:
+ * https://github.com/Vazkii/Psi
+ *
+ * Psi is Open Source and distributed under the
+ * Psi License: https://psi.vazkii.net/license.php
+ */
+package vazkii.psi.common.crafting;
+
+import net.minecraft.world.item.Item;
+import net.minecraft.world.item.ItemStack;
+import net.minecraft.world.item.crafting.Ingredient;
+import net.minecraft.world.item.crafting.RecipeHolder;
+import net.minecraft.world.item.crafting.RecipeManager;
+import net.minecraft.world.item.crafting.RecipeType;
+import net.minecraft.world.item.crafting.SingleRecipeInput;
+import net.minecraft.world.level.Level;
+import net.neoforged.bus.api.SubscribeEvent;
+import net.neoforged.fml.common.EventBusSubscriber;
+import net.neoforged.neoforge.event.TagsUpdatedEvent;
+
+import org.jetbrains.annotations.Nullable;
+
+import vazkii.psi.api.recipe.ITrickRecipe;
+import vazkii.psi.api.spell.piece.PieceCraftingTrick;
+import vazkii.psi.common.lib.LibMisc;
+
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Index of the trick crafting recipes by input item, so casting a crafting trick over a pile of item entities
+ * doesn't scan every recipe for every entity. Rebuilt whenever the recipe manager is replaced or tags reload.
+ */
+@EventBusSubscriber(modid = LibMisc.MOD_ID)
+public final class TrickRecipeIndex {
+
+	@Nullable
+	private static RecipeManager indexedManager;
+	private static List<ByItem> tiers = List.of();
+
+	@SubscribeEvent
+	public static void onTagsUpdated(TagsUpdatedEvent event) {
+		indexedManager = null;
+	}
+
+	/**
+	 * Finds the first recipe the given trick can craft out of the stack. Trick recipes are checked before
+	 * dimension trick recipes, each in recipe manager order.
+	 *
+	 * @param craftingTrick the trick being cast, or null for an empty CAD
+	 */
+	@Nullable
+	public static ITrickRecipe find(Level world, ItemStack stack, @Nullable PieceCraftingTrick craftingTrick) {
+		if(stack.isEmpty()) {
+			return null;
+		}
+
+		SingleRecipeInput input = new SingleRecipeInput(stack);
+		for(ByItem tier : getTiers(world.getRecipeManager())) {
+			ITrickRecipe recipe = tier.find(input, world, craftingTrick);
+			if(recipe != null) {
+				return recipe;
+			}
+		}
+		return null;
+	}
+
+	private static synchronized List<ByItem> getTiers(RecipeManager manager) {
+		if(manager != indexedManager) {
+			tiers = List.of(new ByItem(manager, ModCraftingRecipes.TRICK_RECIPE_TYPE.get()),
+					new ByItem(manager, ModCraftingRecipes.DIMENSION_TRICK_RECIPE_TYPE.get()));
+			indexedManager = manager;
+		}
+		return tiers;
+	}
+
+	private static boolean canCraft(ITrickRecipe recipe, @Nullable PieceCraftingTrick craftingTrick) {
+		PieceCraftingTrick piece = recipe.getPiece();
+		return piece == null || craftingTrick != null && piece.canCraft(craftingTrick);
+	}
+
+	/**
+	 * Recipes of one type keyed by the items their ingredient accepts. Recipes whose ingredient can't be
+	 * reduced to a list of items (custom ingredients looking at components and such) are tested after the
+	 * indexed ones.
+	 */
+	private static final class ByItem {
+
+		private final Map<Item, List<ITrickRecipe>> byItem = new IdentityHashMap<>();
+		private final List<ITrickRecipe> unindexed = new ArrayList<>();
+
+		private <T extends ITrickRecipe> ByItem(RecipeManager manager, RecipeType<T> type) {
+			for(RecipeHolder<T> holder : manager.getAllRecipesFor(type)) {
+				T recipe = holder.value();
+				Ingredient ingredient = recipe.getInput();
+				if(!ingredient.isSimple()) {
+					unindexed.add(recipe);
+					continue;
+				}
+
+				for(ItemStack stack : ingredient.getItems()) {
+					List<ITrickRecipe> recipes = byItem.computeIfAbsent(stack.getItem(), item -> new ArrayList<>());
+					if(!recipes.contains(recipe)) {
+						recipes.add(recipe);
+					}
+				}
+			}
+		}
+
+		@Nullable
+		private ITrickRecipe find(SingleRecipeInput input, Level world, @Nullable PieceCraftingTrick craftingTrick) {
+			ITrickRecipe recipe = find(byItem.getOrDefault(input.item().getItem(), List.of()), input, world, craftingTrick);
+			return recipe != null ? recipe : find(unindexed, input, world, craftingTrick);
+		}
+
+		@Nullable
+		private static ITrickRecipe find(List<ITrickRecipe> candidates, SingleRecipeInput input, Level world, @Nullable PieceCraftingTrick craftingTrick) {
+			for(ITrickRecipe recipe : candidates) {
+				if(canCraft(recipe, craftingTrick) && recipe.matches(input, world)) {
+					return recipe;
+				}
+			}
+			return null;
+		}
+	}
+}
@@ -24,7 +24,6 @@
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
-import vazkii.psi.api.internal.PsiRenderHelper;
 import vazkii.psi.api.spell.ISpellAcceptor;
 import vazkii.psi.api.spell.ISpellImmune;
 import vazkii.psi.api.spell.Spell;
@@ -151,7 +150,7 @@ public void tick() {
 					entityData.set(TIMES_CAST, times + 1);
 					Spell spell = ISpellAcceptor.acceptor(spellContainer).getSpell();
 					if(spell != null) {
-						context = new SpellContext().setPlayer((Player) thrower).setFocalPoint(this)
+						context = SpellContext.obtain().setPlayer((Player) thrower).setFocalPoint(this)
 								.setSpell(spell).setLoopcastIndex(times);
 					}
 				}
@@ -159,23 +158,12 @@ public void tick() {
 
 			if(context != null) {
 				context.cspell.safeExecute(context);
+				SpellContext.release(context);
 			}
 		}
 
 		if(level().isClientSide) {
-			ItemStack colorizer = entityData.get(COLORIZER_DATA);
-			int colorVal = Psi.proxy.getColorForColorizer(colorizer);
-
-			float r = PsiRenderHelper.r(colorVal) / 255F;
-			float g = PsiRenderHelper.g(colorVal) / 255F;
-			float b = PsiRenderHelper.b(colorVal) / 255F;
-			for(int i = 0; i < 5; i++) {
-				double x = getX() + (Math.random() - 0.5) * getBbWidth();
-				double y = getY();
-				double z = getZ() + (Math.random() - 0.5) * getBbWidth();
-				float grav = -0.15F - (float) Math.random() * 0.03F;
-				Psi.proxy.sparkleFX(x, y, z, r, g, b, grav, 0.25F, 15);
-			}
+			Psi.proxy.spellCircleFX(this);
 		}
 
 	}
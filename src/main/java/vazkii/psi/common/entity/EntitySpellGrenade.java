@@ -9,7 +9,6 @@
 package vazkii.psi.common.entity;
 
 import net.minecraft.core.Direction;
-import net.minecraft.core.particles.ParticleTypes;
 import net.minecraft.sounds.SoundEvents;
 import net.minecraft.world.entity.EntityType;
 import net.minecraft.world.entity.LivingEntity;
@@ -24,6 +23,7 @@
 
 import vazkii.psi.api.internal.Vector3;
 import vazkii.psi.api.spell.SpellContext;
+import vazkii.psi.common.Psi;
 
 import java.util.Optional;
 
@@ -70,16 +70,8 @@ public void doExplosion() {
 			cast();
 		}
 		playSound(SoundEvents.GENERIC_EXPLODE.value(), 0.5F, 1F);
-		double m = 0.1;
-		for(int j = 0; j < 40; j++) {
-			double d0 = getCommandSenderWorld().random.nextGaussian() * m;
-			double d1 = getCommandSenderWorld().random.nextGaussian() * m;
-			double d2 = getCommandSenderWorld().random.nextGaussian() * m;
-
-			double x = getX() + 0.75 * getCommandSenderWorld().random.nextFloat() - 0.375;
-			double y = getY() + 0.5 * getCommandSenderWorld().random.nextFloat();
-			double z = getZ() + 0.75 * getCommandSenderWorld().random.nextFloat() - 0.375;
-			getCommandSenderWorld().addParticle(ParticleTypes.EXPLOSION, x, y, z, d0, d1, d2);
+		if(getCommandSenderWorld().isClientSide) {
+			Psi.proxy.spellExplosionFX(this);
 		}
 	}
 
@@ -27,7 +27,6 @@
 
 import org.jetbrains.annotations.NotNull;
 
-import vazkii.psi.api.internal.PsiRenderHelper;
 import vazkii.psi.api.internal.Vector3;
 import vazkii.psi.api.spell.ISpellAcceptor;
 import vazkii.psi.api.spell.Spell;
@@ -150,40 +149,15 @@ public void tick() {
 			remove(RemovalReason.DISCARDED);
 		}
 
-		ItemStack colorizer = entityData.get(COLORIZER_DATA);
-		int colorVal = Psi.proxy.getColorForColorizer(colorizer);
-
-		float r = PsiRenderHelper.r(colorVal) / 255F;
-		float g = PsiRenderHelper.g(colorVal) / 255F;
-		float b = PsiRenderHelper.b(colorVal) / 255F;
-
-		double x = getX();
-		double y = getY();
-		double z = getZ();
-
-		Vector3 lookOrig = new Vector3(getDeltaMovement()).normalize();
-		for(int i = 0; i < getParticleCount(); i++) {
-			Vector3 look = lookOrig.copy();
-			double spread = 0.6;
-			double dist = 0.15;
-			if(this instanceof EntitySpellGrenade) {
-				look.y += 1;
-				dist = 0.05;
-			}
-
-			look.x += (Math.random() - 0.5) * spread;
-			look.y += (Math.random() - 0.5) * spread;
-			look.z += (Math.random() - 0.5) * spread;
-
-			look.normalize().multiply(dist);
-
-			if(level().isClientSide()) {
-				Psi.proxy.sparkleFX(x, y, z, r, g, b, (float) look.x, (float) look.y, (float) look.z, 1.2F, 12);
-			}
-
+		if(level().isClientSide()) {
+			Psi.proxy.spellProjectileFX(this);
 		}
 	}
 
+	public ItemStack getColorizer() {
+		return entityData.get(COLORIZER_DATA);
+	}
+
 	public int getLiveTime() {
 		return 600;
 	}
@@ -10,6 +10,8 @@
 
 import com.google.common.collect.Lists;
 
+import it.unimi.dsi.fastutil.objects.Object2ObjectOpenCustomHashMap;
+
 import net.minecraft.ChatFormatting;
 import net.minecraft.client.Minecraft;
 import net.minecraft.core.BlockPos;
@@ -33,8 +35,6 @@
 import net.minecraft.world.item.component.CustomData;
 import net.minecraft.world.item.component.ItemContainerContents;
 import net.minecraft.world.item.context.UseOnContext;
-import net.minecraft.world.item.crafting.RecipeHolder;
-import net.minecraft.world.item.crafting.SingleRecipeInput;
 import net.minecraft.world.level.Level;
 import net.minecraft.world.level.block.Block;
 import net.minecraft.world.level.block.state.BlockState;
@@ -49,7 +49,6 @@
 
 import vazkii.psi.api.PsiAPI;
 import vazkii.psi.api.cad.*;
-import vazkii.psi.api.internal.PsiRenderHelper;
 import vazkii.psi.api.internal.TooltipHelper;
 import vazkii.psi.api.internal.Vector3;
 import vazkii.psi.api.recipe.ITrickRecipe;
@@ -63,19 +62,16 @@
 import vazkii.psi.common.core.handler.PlayerDataHandler;
 import vazkii.psi.common.core.handler.PlayerDataHandler.PlayerData;
 import vazkii.psi.common.core.handler.PsiSoundHandler;
+import vazkii.psi.common.core.handler.VisualEffectHandler;
 import vazkii.psi.common.core.handler.capability.CADData;
-import vazkii.psi.common.crafting.ModCraftingRecipes;
-import vazkii.psi.common.crafting.recipe.DimensionTrickRecipe;
+import vazkii.psi.common.crafting.TrickRecipeIndex;
 import vazkii.psi.common.item.base.ModDataComponents;
 import vazkii.psi.common.item.base.ModItems;
 import vazkii.psi.common.lib.LibPieceGroups;
-import vazkii.psi.common.network.MessageRegister;
-import vazkii.psi.common.network.message.MessageVisualEffect;
 import vazkii.psi.common.spell.trick.block.PieceTrickBreakBlock;
 
 import java.util.*;
 import java.util.function.Consumer;
-import java.util.function.Predicate;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -226,32 +222,7 @@ public static Optional<ArrayList<Entity>> cast(Level world, Player player, Playe
 						if(!world.isClientSide) {
 							world.playSound(null, player.getX(), player.getY(), player.getZ(), PsiSoundHandler.cadShoot, SoundSource.PLAYERS, sound, (float) (0.5 + Math.random() * 0.5));
 						} else {
-							int color = Psi.proxy.getColorForCAD(cad);
-							float r = PsiRenderHelper.r(color) / 255F;
-							float g = PsiRenderHelper.g(color) / 255F;
-							float b = PsiRenderHelper.b(color) / 255F;
-							for(int i = 0; i < particles; i++) {
-								double x = player.getX() + (Math.random() - 0.5) * 2.1 * player.getBbWidth();
-								double y = player.getY() + 0.35D;
-								double z = player.getZ() + (Math.random() - 0.5) * 2.1 * player.getBbWidth();
-								float grav = -0.15F - (float) Math.random() * 0.03F;
-								Psi.proxy.sparkleFX(x, y, z, r, g, b, grav, 0.25F, 15);
-							}
-
-							double x = player.getX();
-							double y = player.getY() + player.getEyeHeight() - 0.1;
-							double z = player.getZ();
-							Vector3 lookOrig = new Vector3(player.getLookAngle());
-							for(int i = 0; i < 25; i++) {
-								Vector3 look = lookOrig.copy();
-								double spread = 0.25;
-								look.x += (Math.random() - 0.5) * spread;
-								look.y += (Math.random() - 0.5) * spread;
-								look.z += (Math.random() - 0.5) * spread;
-								look.normalize().multiply(0.15);
-
-								Psi.proxy.sparkleFX(x, y, z, r, g, b, (float) look.x, (float) look.y, (float) look.z, 0.3F, 5);
-							}
+							Psi.proxy.castFX(player, cad, particles);
 						}
 					}
 					ArrayList<Entity> SpellEntities = new ArrayList<>();
@@ -383,10 +354,11 @@ private ISocketable getSocketable(ItemStack stack) {
 
 	@Override
 	public void inventoryTick(ItemStack stack, Level level, Entity entity, int slotId, boolean isSelected) {
-		if(!getComponentInSlot(stack, EnumCADComponent.DYE).isEmpty() && ContributorSpellCircleHandler.isContributor(entity.getName().getString().toLowerCase(Locale.ROOT))) {
-			if(this.contributorName.equalsIgnoreCase(entity.getName().getString())) {
-				this.contributorName = entity.getName().getString();
-			}
+		// Cheapest check first, this only ever matters for the one contributor whose name differs in case
+		String name = entity.getName().getString();
+		if(this.contributorName.equalsIgnoreCase(name) && !this.contributorName.equals(name)
+				&& !getComponentInSlot(stack, EnumCADComponent.DYE).isEmpty() && ContributorSpellCircleHandler.isContributor(name.toLowerCase(Locale.ROOT))) {
+			this.contributorName = name;
 		}
 	}
 
@@ -443,31 +415,14 @@ public boolean craft(ItemStack cad, Player player, PieceCraftingTrick craftingTr
 				entity -> entity != null && entity.distanceToSqr(player) <= 8 * 8);
 
 		boolean did = false;
+		// Piles of the same stack only need to be matched once
+		Map<ItemStack, Optional<ITrickRecipe>> matched = new Object2ObjectOpenCustomHashMap<>(ItemStackLinkedSet.TYPE_AND_TAG);
 		for(ItemEntity item : items) {
 			ItemStack stack = item.getItem();
-			SingleRecipeInput inv = new SingleRecipeInput(stack);
-			Predicate<ITrickRecipe> predicate;
-			if(craftingTrick != null) {
-				predicate = r -> r.getPiece() == null || r.getPiece().canCraft(craftingTrick);
-			} else {
-				predicate = r -> r.getPiece() == null;
-			}
-
-			// 检查普通配方类型
-			Optional<RecipeHolder<ITrickRecipe>> recipe = world.getRecipeManager().getRecipeFor(ModCraftingRecipes.TRICK_RECIPE_TYPE.get(), inv, world)
-					.filter(r -> predicate.test(r.value()));
-
-			// 如果普通配方没有匹配，则检查维度配方类型
-			if(!recipe.isPresent()) {
-				Optional<RecipeHolder<DimensionTrickRecipe>> dimensionRecipe = world.getRecipeManager().getRecipeFor(ModCraftingRecipes.DIMENSION_TRICK_RECIPE_TYPE.get(), inv, world)
-						.filter(r -> predicate.test(r.value()));
-				if(dimensionRecipe.isPresent()) {
-					recipe = Optional.of(new RecipeHolder<>(dimensionRecipe.get().id(), dimensionRecipe.get().value()));
-				}
-			}
+			Optional<ITrickRecipe> recipe = matched.computeIfAbsent(stack, s -> Optional.ofNullable(TrickRecipeIndex.find(world, s, craftingTrick)));
 
 			if(recipe.isPresent()) {
-				ItemStack outCopy = recipe.get().value().getResultItem(RegistryAccess.EMPTY).copy();
+				ItemStack outCopy = recipe.get().getResultItem(RegistryAccess.EMPTY).copy();
 				int count = stack.getCount() * outCopy.getCount();
 				while(count > 64) {
 					int dropCount = world.getRandom().nextInt(32) + 32;
@@ -484,10 +439,7 @@ public boolean craft(ItemStack cad, Player player, PieceCraftingTrick craftingTr
 				outCopy.setCount(count);
 				item.setItem(outCopy);
 				did = true;
-				MessageVisualEffect msg = new MessageVisualEffect(ICADColorizer.DEFAULT_SPELL_COLOR,
-						item.getX(), item.getY(), item.getZ(), item.getBbWidth(), item.getBbHeight(), 0.0D,
-						MessageVisualEffect.TYPE_CRAFT);
-				MessageRegister.sendToPlayersTrackingEntityAndSelf(item, msg);
+				VisualEffectHandler.craft(item, ItemStack.EMPTY);
 			}
 		}
 
@@ -520,11 +472,7 @@ public int getStatValue(ItemStack stack, EnumCADStat stat) {
 	@Override
 	@OnlyIn(Dist.CLIENT)
 	public int getSpellColor(ItemStack stack) {
-		ItemStack dye = getComponentInSlot(stack, EnumCADComponent.DYE);
-		if(!dye.isEmpty() && dye.getItem() instanceof ICADColorizer) {
-			return ((ICADColorizer) dye.getItem()).getColor(dye);
-		}
-		return ICADColorizer.DEFAULT_SPELL_COLOR;
+		return Psi.proxy.getColorForColorizer(getComponentInSlot(stack, EnumCADComponent.DYE));
 	}
 
 	@Override
@@ -32,7 +32,7 @@ public ArrayList<Entity> castSpell(ItemStack stack, SpellContext context) {
 
 		EntitySpellCharge projectile = new EntitySpellCharge(context.caster.getCommandSenderWorld(), context.caster);
 		projectile.setInfo(context.caster, colorizer, stack);
-		projectile.context = context;
+		projectile.context = context.retain();
 		projectile.getCommandSenderWorld().addFreshEntity(projectile);
 		ArrayList<Entity> spellEntities = new ArrayList<>();
 		spellEntities.add(projectile);
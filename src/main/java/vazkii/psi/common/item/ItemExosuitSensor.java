@@ -14,8 +14,8 @@
 import net.neoforged.api.distmarker.OnlyIn;
 
 import vazkii.psi.api.cad.ICADColorizer;
+import vazkii.psi.api.exosuit.EnumArmorEvent;
 import vazkii.psi.api.exosuit.IExosuitSensor;
-import vazkii.psi.api.exosuit.PsiArmorEvent;
 
 public abstract class ItemExosuitSensor extends Item implements IExosuitSensor {
 
@@ -31,8 +31,8 @@ public ItemExosuitSensor(Item.Properties properties) {
 	}
 
 	@Override
-	public String getEventType(ItemStack stack) {
-		return PsiArmorEvent.NONE;
+	public EnumArmorEvent getTrigger(ItemStack stack) {
+		return EnumArmorEvent.NONE;
 	}
 
 	@Override
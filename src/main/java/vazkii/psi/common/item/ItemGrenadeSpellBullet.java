@@ -33,7 +33,7 @@ public ArrayList<Entity> castSpell(ItemStack stack, SpellContext context) {
 
 		EntitySpellProjectile projectile = new EntitySpellGrenade(context.caster.getCommandSenderWorld(), context.caster);
 		projectile.setInfo(context.caster, colorizer, stack);
-		projectile.context = context;
+		projectile.context = context.retain();
 		projectile.getCommandSenderWorld().addFreshEntity(projectile);
 		ArrayList<Entity> spellEntities = new ArrayList<>();
 		spellEntities.add(projectile);
@@ -10,7 +10,7 @@
 
 import net.minecraft.world.item.ItemStack;
 
-import vazkii.psi.api.exosuit.PsiArmorEvent;
+import vazkii.psi.api.exosuit.EnumArmorEvent;
 
 public class ItemHeatExosuitSensor extends ItemExosuitSensor {
 
@@ -24,7 +24,7 @@ public int getColor(ItemStack stack) {
 	}
 
 	@Override
-	public String getEventType(ItemStack stack) {
-		return PsiArmorEvent.ON_FIRE;
+	public EnumArmorEvent getTrigger(ItemStack stack) {
+		return EnumArmorEvent.ON_FIRE;
 	}
 }
@@ -10,7 +10,7 @@
 
 import net.minecraft.world.item.ItemStack;
 
-import vazkii.psi.api.exosuit.PsiArmorEvent;
+import vazkii.psi.api.exosuit.EnumArmorEvent;
 
 public class ItemLightExosuitSensor extends ItemExosuitSensor {
 
@@ -19,8 +19,8 @@ public ItemLightExosuitSensor(Properties properties) {
 	}
 
 	@Override
-	public String getEventType(ItemStack stack) {
-		return PsiArmorEvent.LOW_LIGHT;
+	public EnumArmorEvent getTrigger(ItemStack stack) {
+		return EnumArmorEvent.LOW_LIGHT;
 	}
 
 	@Override
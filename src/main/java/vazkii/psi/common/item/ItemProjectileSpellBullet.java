@@ -31,7 +31,7 @@ public ArrayList<Entity> castSpell(ItemStack stack, SpellContext context) {
 		ItemStack colorizer = ((ICAD) cad.getItem()).getComponentInSlot(cad, EnumCADComponent.DYE);
 		EntitySpellProjectile projectile = new EntitySpellProjectile(context.caster.getCommandSenderWorld(), context.caster);
 		projectile.setInfo(context.caster, colorizer, stack);
-		projectile.context = context;
+		projectile.context = context.retain();
 		projectile.getCommandSenderWorld().addFreshEntity(projectile);
 		ArrayList<Entity> spellEntities = new ArrayList<>();
 		spellEntities.add(projectile);
@@ -10,7 +10,7 @@
 
 import net.minecraft.world.item.ItemStack;
 
-import vazkii.psi.api.exosuit.PsiArmorEvent;
+import vazkii.psi.api.exosuit.EnumArmorEvent;
 
 public class ItemStressExosuitSensor extends ItemExosuitSensor {
 
@@ -24,7 +24,7 @@ public int getColor(ItemStack stack) {
 	}
 
 	@Override
-	public String getEventType(ItemStack stack) {
-		return PsiArmorEvent.LOW_HP;
+	public EnumArmorEvent getTrigger(ItemStack stack) {
+		return EnumArmorEvent.LOW_HP;
 	}
 }
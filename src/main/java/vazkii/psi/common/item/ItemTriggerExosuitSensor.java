@@ -10,7 +10,7 @@
 
 import net.minecraft.world.item.ItemStack;
 
-import vazkii.psi.api.exosuit.PsiArmorEvent;
+import vazkii.psi.api.exosuit.EnumArmorEvent;
 import vazkii.psi.client.core.handler.ColorHandler;
 
 public class ItemTriggerExosuitSensor extends ItemExosuitSensor {
@@ -25,7 +25,7 @@ public int getColor(ItemStack stack) {
 	}
 
 	@Override
-	public String getEventType(ItemStack stack) {
-		return PsiArmorEvent.DETONATE;
+	public EnumArmorEvent getTrigger(ItemStack stack) {
+		return EnumArmorEvent.DETONATE;
 	}
 }
@@ -34,6 +34,7 @@
 import vazkii.psi.api.PsiAPI;
 import vazkii.psi.api.cad.ICADColorizer;
 import vazkii.psi.api.cad.ISocketable;
+import vazkii.psi.api.exosuit.EnumArmorEvent;
 import vazkii.psi.api.exosuit.IPsiEventArmor;
 import vazkii.psi.api.exosuit.PsiArmorEvent;
 import vazkii.psi.api.internal.TooltipHelper;
@@ -125,13 +126,26 @@ public void cast(ItemStack stack, PsiArmorEvent event) {
 
 	@Override
 	public void onEvent(ItemStack stack, PsiArmorEvent event) {
-		if(event.type.equals(getEvent(stack)) && event.getEntity() != null) {
+		boolean matches = event.trigger != null ? event.trigger == getEvent(stack) : event.type.equals(getEventName(stack));
+		if(matches && event.getEntity() != null) {
 			cast(stack, event);
 		}
 	}
 
-	public String getEvent(ItemStack stack) {
-		return PsiArmorEvent.NONE;
+	@Override
+	public int getArmedTriggers(ItemStack stack) {
+		return getEvent(stack).mask();
+	}
+
+	public EnumArmorEvent getEvent(ItemStack stack) {
+		return EnumArmorEvent.NONE;
+	}
+
+	/**
+	 * The name of the trigger this piece casts on, which may be a trigger defined by another mod.
+	 */
+	public String getEventName(ItemStack stack) {
+		return getEvent(stack).getName();
 	}
 
 	public int getCastCooldown(ItemStack stack) {
@@ -148,7 +162,7 @@ public void appendHoverText(ItemStack stack, @Nullable TooltipContext context, L
 		TooltipHelper.tooltipIfShift(tooltip, () -> {
 			Component componentName = ISocketable.getSocketedItemName(stack, "psimisc.none");
 			tooltip.add(Component.translatable("psimisc.spell_selected", componentName));
-			tooltip.add(Component.translatable(getEvent(stack)));
+			tooltip.add(Component.translatable(getEventName(stack)));
 		});
 	}
 
@@ -12,7 +12,7 @@
 import net.minecraft.world.item.Item;
 import net.minecraft.world.item.ItemStack;
 
-import vazkii.psi.api.exosuit.PsiArmorEvent;
+import vazkii.psi.api.exosuit.EnumArmorEvent;
 
 public class ItemPsimetalExosuitBoots extends ItemPsimetalArmor {
 
@@ -21,8 +21,8 @@ public ItemPsimetalExosuitBoots(ArmorItem.Type type, Item.Properties properties)
 	}
 
 	@Override
-	public String getEvent(ItemStack stack) {
-		return PsiArmorEvent.JUMP;
+	public EnumArmorEvent getEvent(ItemStack stack) {
+		return EnumArmorEvent.JUMP;
 	}
 
 }
@@ -17,6 +17,7 @@
 
 import org.jetbrains.annotations.NotNull;
 
+import vazkii.psi.api.exosuit.EnumArmorEvent;
 import vazkii.psi.api.exosuit.IExosuitSensor;
 import vazkii.psi.api.exosuit.ISensorHoldable;
 import vazkii.psi.common.item.base.ModDataComponents;
@@ -28,15 +29,28 @@ public ItemPsimetalExosuitHelmet(ArmorItem.Type type, Item.Properties properties
 	}
 
 	@Override
-	public String getEvent(ItemStack stack) {
+	public EnumArmorEvent getEvent(ItemStack stack) {
 		ItemStack sensor = getAttachedSensor(stack);
 		if(!sensor.isEmpty() && sensor.getItem() instanceof IExosuitSensor) {
-			return ((IExosuitSensor) sensor.getItem()).getEventType(sensor);
+			EnumArmorEvent trigger = ((IExosuitSensor) sensor.getItem()).getTrigger(sensor);
+			return trigger == null ? EnumArmorEvent.NONE : trigger;
 		}
 
 		return super.getEvent(stack);
 	}
 
+	@Override
+	@SuppressWarnings("deprecation")
+	public String getEventName(ItemStack stack) {
+		ItemStack sensor = getAttachedSensor(stack);
+		if(!sensor.isEmpty() && sensor.getItem() instanceof IExosuitSensor) {
+			// Sensors from other mods may name triggers Psi doesn't know
+			return ((IExosuitSensor) sensor.getItem()).getEventType(sensor);
+		}
+
+		return super.getEventName(stack);
+	}
+
 	@Override
 	public int getCastCooldown(ItemStack stack) {
 		return 40;
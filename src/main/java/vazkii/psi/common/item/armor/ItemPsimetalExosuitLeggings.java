@@ -12,7 +12,7 @@
 import net.minecraft.world.item.Item;
 import net.minecraft.world.item.ItemStack;
 
-import vazkii.psi.api.exosuit.PsiArmorEvent;
+import vazkii.psi.api.exosuit.EnumArmorEvent;
 
 public class ItemPsimetalExosuitLeggings extends ItemPsimetalArmor {
 
@@ -21,8 +21,8 @@ public ItemPsimetalExosuitLeggings(ArmorItem.Type type, Item.Properties properti
 	}
 
 	@Override
-	public String getEvent(ItemStack stack) {
-		return PsiArmorEvent.TICK;
+	public EnumArmorEvent getEvent(ItemStack stack) {
+		return EnumArmorEvent.TICK;
 	}
 
 	@Override
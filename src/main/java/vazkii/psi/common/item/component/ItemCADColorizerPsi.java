@@ -28,10 +28,28 @@ public ItemCADColorizerPsi(Properties properties) {
 	@Override
 	@OnlyIn(Dist.CLIENT)
 	public int getColor(ItemStack stack) {
-		if(!getContributorName(stack).isEmpty() && ContributorSpellCircleHandler.isContributor(getContributorName(stack).toLowerCase(Locale.ROOT))) {
-			return ColorHandler.slideColor(ContributorSpellCircleHandler.getColors(getContributorName(stack).toLowerCase(Locale.ROOT)), 0.0125f);
+		return getPsiColorFunction(stack).getColor(ClientTickHandler.total);
+	}
+
+	@Override
+	@OnlyIn(Dist.CLIENT)
+	public ColorFunction getColorFunction(ItemStack stack) {
+		// Subclasses may only override getColor, which then has to be asked every time
+		return getClass() == ItemCADColorizerPsi.class ? getPsiColorFunction(stack) : super.getColorFunction(stack);
+	}
+
+	@OnlyIn(Dist.CLIENT)
+	private ColorFunction getPsiColorFunction(ItemStack stack) {
+		String contributor = getContributorName(stack).toLowerCase(Locale.ROOT);
+		if(!contributor.isEmpty() && ContributorSpellCircleHandler.isContributor(contributor)) {
+			int[] colors = ContributorSpellCircleHandler.getColors(contributor);
+			return time -> ColorHandler.slideColor(colors, 0.0125f, time);
 		}
-		float time = ClientTickHandler.total;
+		return ItemCADColorizerPsi::getPsiColor;
+	}
+
+	@OnlyIn(Dist.CLIENT)
+	private static int getPsiColor(float time) {
 		float w = (float) (Math.sin(time * 0.4) * 0.5 + 0.5) * 0.1F;
 		float r = (float) (Math.sin(time * 0.1) * 0.5 + 0.5) * 0.5F + 0.25F + w;
 		float g = 0.5F + w;
@@ -24,7 +24,18 @@ public ItemCADColorizerRainbow(Properties properties) {
 	@Override
 	@OnlyIn(Dist.CLIENT)
 	public int getColor(ItemStack stack) {
-		float time = ClientTickHandler.total;
+		return getRainbowColor(ClientTickHandler.total);
+	}
+
+	@Override
+	@OnlyIn(Dist.CLIENT)
+	public ColorFunction getColorFunction(ItemStack stack) {
+		// Subclasses may only override getColor, which then has to be asked every time
+		return getClass() == ItemCADColorizerRainbow.class ? ItemCADColorizerRainbow::getRainbowColor : super.getColorFunction(stack);
+	}
+
+	@OnlyIn(Dist.CLIENT)
+	private static int getRainbowColor(float time) {
 		return Color.HSBtoRGB(time * 0.005F, 1F, 1F);
 	}
 }
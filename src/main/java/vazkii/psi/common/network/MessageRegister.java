@@ -11,9 +11,11 @@
 import net.minecraft.network.RegistryFriendlyByteBuf;
 import net.minecraft.network.codec.StreamCodec;
 import net.minecraft.network.protocol.common.custom.CustomPacketPayload;
+import net.minecraft.server.MinecraftServer;
 import net.minecraft.server.level.ServerLevel;
 import net.minecraft.server.level.ServerPlayer;
 import net.minecraft.world.entity.Entity;
+import net.minecraft.world.level.ChunkPos;
 import net.minecraft.world.phys.Vec3;
 import net.neoforged.bus.api.SubscribeEvent;
 import net.neoforged.neoforge.network.PacketDistributor;
@@ -33,7 +35,7 @@ public void encode(RegistryFriendlyByteBuf pBuffer, Vec3 pVec3) {
 			pBuffer.writeVec3(pVec3);
 		}
 	};
-	private static final String VERSION = "3";
+	private static final String VERSION = "4";
 
 	@SubscribeEvent
 	public static void onRegisterPayloadHandler(RegisterPayloadHandlersEvent event) {
@@ -48,7 +50,6 @@ public static void onRegisterPayloadHandler(RegisterPayloadHandlersEvent event)
 		registrar.playBidirectional(MessageDeductPsi.TYPE, MessageDeductPsi.CODEC, MessageDeductPsi::handle);
 		registrar.playBidirectional(MessageEidosSync.TYPE, MessageEidosSync.CODEC, MessageEidosSync::handle);
 		registrar.playBidirectional(MessageLoopcastSync.TYPE, MessageLoopcastSync.CODEC, MessageLoopcastSync::handle);
-		registrar.playBidirectional(MessageParticleTrail.TYPE, MessageParticleTrail.CODEC, MessageParticleTrail::handle);
 		registrar.playBidirectional(MessageSpamlessChat.TYPE, MessageSpamlessChat.CODEC, MessageSpamlessChat::handle);
 		registrar.playBidirectional(MessageSpellError.TYPE, MessageSpellError.CODEC, MessageSpellError::handle);
 		registrar.playBidirectional(MessageSpellModified.TYPE, MessageSpellModified.CODEC, MessageSpellModified::handle);
@@ -74,6 +75,32 @@ public static <MSG extends CustomPacketPayload> void sendToPlayersTrackingEntity
 		PacketDistributor.sendToPlayersTrackingEntityAndSelf(entity, message);
 	}
 
+	/**
+	 * Whether the player tracks the entity, decided the same way the server's chunk map does: the entity's tracking
+	 * range, scaled by the server's entity broadcast range and capped by its view distance, and the chunks the
+	 * player has been sent.
+	 */
+	public static boolean isInTrackingRange(ServerPlayer player, Entity entity) {
+		ChunkPos chunk = entity.chunkPosition();
+		if(!player.getChunkTrackingView().contains(chunk) || player.connection.chunkSender.isPending(chunk.toLong()) || !entity.broadcastToPlayer(player)) {
+			return false;
+		}
+
+		double range = Math.min(getTrackingRange(player.server, entity), player.server.getPlayerList().getViewDistance() * 16);
+		double dx = player.getX() - entity.getX();
+		double dz = player.getZ() - entity.getZ();
+		return dx * dx + dz * dz <= range * range;
+	}
+
+	private static int getTrackingRange(MinecraftServer server, Entity entity) {
+		// Entities carrying passengers are tracked as far as their farthest tracked passenger
+		int range = entity.getType().clientTrackingRange() * 16;
+		for(Entity passenger : entity.getIndirectPassengers()) {
+			range = Math.max(range, passenger.getType().clientTrackingRange() * 16);
+		}
+		return server.getScaledTrackingDistance(range);
+	}
+
 	public static <MSG extends CustomPacketPayload> void sendToPlayersInDimension(ServerLevel level, MSG message) {
 		PacketDistributor.sendToPlayersInDimension(level, message);
 	}
@@ -9,7 +9,6 @@
 package vazkii.psi.common.network.message;
 
 import net.minecraft.network.RegistryFriendlyByteBuf;
-import net.minecraft.network.codec.ByteBufCodecs;
 import net.minecraft.network.codec.StreamCodec;
 import net.minecraft.network.protocol.common.custom.CustomPacketPayload;
 import net.minecraft.resources.ResourceLocation;
@@ -19,18 +18,38 @@
 
 import vazkii.psi.common.Psi;
 
-public record MessageAdditiveMotion(int entityID, double motionX, double motionY,
-		double motionZ) implements CustomPacketPayload {
+/**
+ * The motion added to a batch of entities in one tick. Motion is stored as x, y, z triples, one per entity id.
+ */
+public record MessageAdditiveMotion(int[] entityIDs, float[] motion) implements CustomPacketPayload {
 
 	public static final ResourceLocation ID = Psi.location("message_additive_motion");
 	public static final CustomPacketPayload.Type<MessageAdditiveMotion> TYPE = new Type<>(ID);
 
-	public static final StreamCodec<RegistryFriendlyByteBuf, MessageAdditiveMotion> CODEC = StreamCodec.composite(
-			ByteBufCodecs.INT, MessageAdditiveMotion::entityID,
-			ByteBufCodecs.DOUBLE, MessageAdditiveMotion::motionX,
-			ByteBufCodecs.DOUBLE, MessageAdditiveMotion::motionY,
-			ByteBufCodecs.DOUBLE, MessageAdditiveMotion::motionZ,
-			MessageAdditiveMotion::new);
+	public static final StreamCodec<RegistryFriendlyByteBuf, MessageAdditiveMotion> CODEC = new StreamCodec<>() {
+		public MessageAdditiveMotion decode(RegistryFriendlyByteBuf pBuffer) {
+			int count = pBuffer.readVarInt();
+			int[] entityIDs = new int[count];
+			float[] motion = new float[count * 3];
+			for(int i = 0; i < count; i++) {
+				entityIDs[i] = pBuffer.readVarInt();
+				motion[i * 3] = pBuffer.readFloat();
+				motion[i * 3 + 1] = pBuffer.readFloat();
+				motion[i * 3 + 2] = pBuffer.readFloat();
+			}
+			return new MessageAdditiveMotion(entityIDs, motion);
+		}
+
+		public void encode(RegistryFriendlyByteBuf pBuffer, MessageAdditiveMotion message) {
+			pBuffer.writeVarInt(message.entityIDs.length);
+			for(int i = 0; i < message.entityIDs.length; i++) {
+				pBuffer.writeVarInt(message.entityIDs[i]);
+				pBuffer.writeFloat(message.motion[i * 3]);
+				pBuffer.writeFloat(message.motion[i * 3 + 1]);
+				pBuffer.writeFloat(message.motion[i * 3 + 2]);
+			}
+		}
+	};
 
 	@Override
 	public Type<? extends CustomPacketPayload> type() {
@@ -41,9 +60,11 @@ public void handle(IPayloadContext ctx) {
 		ctx.enqueueWork(() -> {
 			Level world = Psi.proxy.getClientWorld();
 			if(world != null) {
-				Entity entity = world.getEntity(entityID);
-				if(entity != null) {
-					entity.setDeltaMovement(entity.getDeltaMovement().add(motionX, motionY, motionZ));
+				for(int i = 0; i < entityIDs.length; i++) {
+					Entity entity = world.getEntity(entityIDs[i]);
+					if(entity != null) {
+						entity.setDeltaMovement(entity.getDeltaMovement().add(motion[i * 3], motion[i * 3 + 1], motion[i * 3 + 2]));
+					}
 				}
 			}
 		});
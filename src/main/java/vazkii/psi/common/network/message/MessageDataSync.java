@@ -46,6 +46,7 @@ public void handle(IPayloadContext ctx) {
 				PlayerData data = PlayerDataHandler.get(player);
 				data.lastAvailablePsi = data.availablePsi;
 				data.readFromNBT(cmp);
+				Psi.proxy.onPsiDataSynced();
 			}
 		});
 
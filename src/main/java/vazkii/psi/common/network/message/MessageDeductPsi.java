@@ -47,6 +47,7 @@ public void handle(IPayloadContext ctx) {
 				data.regenCooldown = cd;
 				data.deductTick = true;
 				data.addDeduction(prev, prev - current, shatter);
+				Psi.proxy.onPsiDataSynced();
 			}
 		});
 	}
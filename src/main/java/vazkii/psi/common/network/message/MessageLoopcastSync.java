@@ -9,7 +9,6 @@
 package vazkii.psi.common.network.message;
 
 import net.minecraft.network.RegistryFriendlyByteBuf;
-import net.minecraft.network.codec.ByteBufCodecs;
 import net.minecraft.network.codec.StreamCodec;
 import net.minecraft.network.protocol.common.custom.CustomPacketPayload;
 import net.minecraft.resources.ResourceLocation;
@@ -22,18 +21,37 @@
 import vazkii.psi.common.Psi;
 import vazkii.psi.common.core.handler.PlayerDataHandler;
 
-public record MessageLoopcastSync(int entityId, byte loopcastState) implements CustomPacketPayload {
+/**
+ * The loopcast state of a batch of players, one state byte per entity id.
+ */
+public record MessageLoopcastSync(int[] entityIds, byte[] loopcastStates) implements CustomPacketPayload {
 
 	public static final ResourceLocation ID = Psi.location("message_loopcast_sync");
 	public static final CustomPacketPayload.Type<MessageLoopcastSync> TYPE = new Type<>(ID);
 
-	public static final StreamCodec<RegistryFriendlyByteBuf, MessageLoopcastSync> CODEC = StreamCodec.composite(
-			ByteBufCodecs.INT, MessageLoopcastSync::entityId,
-			ByteBufCodecs.BYTE, MessageLoopcastSync::loopcastState,
-			MessageLoopcastSync::new);
+	public static final StreamCodec<RegistryFriendlyByteBuf, MessageLoopcastSync> CODEC = new StreamCodec<>() {
+		public MessageLoopcastSync decode(RegistryFriendlyByteBuf pBuffer) {
+			int count = pBuffer.readVarInt();
+			int[] entityIds = new int[count];
+			byte[] loopcastStates = new byte[count];
+			for(int i = 0; i < count; i++) {
+				entityIds[i] = pBuffer.readVarInt();
+				loopcastStates[i] = pBuffer.readByte();
+			}
+			return new MessageLoopcastSync(entityIds, loopcastStates);
+		}
+
+		public void encode(RegistryFriendlyByteBuf pBuffer, MessageLoopcastSync message) {
+			pBuffer.writeVarInt(message.entityIds.length);
+			for(int i = 0; i < message.entityIds.length; i++) {
+				pBuffer.writeVarInt(message.entityIds[i]);
+				pBuffer.writeByte(message.loopcastStates[i]);
+			}
+		}
+	};
 
-	public MessageLoopcastSync(int entityId, boolean isLoopcasting, InteractionHand hand) {
-		this(entityId, (byte) ((isLoopcasting ? 1 : 0) | (hand == null ? 0 : hand.ordinal() << 1)));
+	public static byte getState(boolean isLoopcasting, InteractionHand hand) {
+		return (byte) ((isLoopcasting ? 1 : 0) | (hand == null ? 0 : hand.ordinal() << 1));
 	}
 
 	@Override
@@ -42,10 +60,6 @@ public Type<? extends CustomPacketPayload> type() {
 	}
 
 	public void handle(IPayloadContext ctx) {
-		boolean isLoopcasting = (loopcastState & 0b1) != 0;
-
-		InteractionHand loopcastHand = isLoopcasting ? ((loopcastState & 0b10) != 0 ? InteractionHand.OFF_HAND : InteractionHand.MAIN_HAND) : null;
-
 		ctx.enqueueWork(() -> {
 			Player mcPlayer = Psi.proxy.getClientPlayer();
 			if(mcPlayer == null) {
@@ -53,17 +67,24 @@ public void handle(IPayloadContext ctx) {
 			}
 			Level world = mcPlayer.level();
 
-			Entity player = null;
-			if(world != null) {
-				player = world.getEntity(entityId);
-			} else if(mcPlayer.getId() == entityId) {
-				player = mcPlayer;
-			}
+			for(int i = 0; i < entityIds.length; i++) {
+				int entityId = entityIds[i];
+				byte loopcastState = loopcastStates[i];
+				boolean isLoopcasting = (loopcastState & 0b1) != 0;
+				InteractionHand loopcastHand = isLoopcasting ? ((loopcastState & 0b10) != 0 ? InteractionHand.OFF_HAND : InteractionHand.MAIN_HAND) : null;
+
+				Entity player = null;
+				if(world != null) {
+					player = world.getEntity(entityId);
+				} else if(mcPlayer.getId() == entityId) {
+					player = mcPlayer;
+				}
 
-			if(player instanceof Player) {
-				PlayerDataHandler.PlayerData data = PlayerDataHandler.get((Player) player);
-				data.loopcasting = isLoopcasting;
-				data.loopcastHand = loopcastHand;
+				if(player instanceof Player) {
+					PlayerDataHandler.PlayerData data = PlayerDataHandler.get((Player) player);
+					data.loopcasting = isLoopcasting;
+					data.loopcastHand = loopcastHand;
+				}
 			}
 		});
 
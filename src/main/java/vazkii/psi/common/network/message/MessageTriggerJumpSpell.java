@@ -14,6 +14,7 @@
 import net.minecraft.resources.ResourceLocation;
 import net.neoforged.neoforge.network.handling.IPayloadContext;
 
+import vazkii.psi.api.exosuit.EnumArmorEvent;
 import vazkii.psi.api.exosuit.PsiArmorEvent;
 import vazkii.psi.common.Psi;
 
@@ -36,6 +37,6 @@ public Type<? extends CustomPacketPayload> type() {
 	}
 
 	public void handle(IPayloadContext ctx) {
-		ctx.enqueueWork(() -> PsiArmorEvent.post(new PsiArmorEvent(ctx.player(), PsiArmorEvent.JUMP)));
+		ctx.enqueueWork(() -> PsiArmorEvent.post(new PsiArmorEvent(ctx.player(), EnumArmorEvent.JUMP)));
 	}
 }
@@ -13,44 +13,86 @@
 import net.minecraft.network.codec.StreamCodec;
 import net.minecraft.network.protocol.common.custom.CustomPacketPayload;
 import net.minecraft.resources.ResourceLocation;
+import net.minecraft.world.item.ItemStack;
 import net.minecraft.world.level.Level;
+import net.minecraft.world.phys.Vec3;
 import net.neoforged.neoforge.network.handling.IPayloadContext;
 
+import vazkii.psi.api.internal.PsiRenderHelper;
 import vazkii.psi.common.Psi;
 
-public record MessageVisualEffect(int color, double x, double y, double z, double width, double height, double offset,
-		int effectType) implements CustomPacketPayload {
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Every visual effect a player should see from one server tick. Effects point into a shared list of colorizers
+ * instead of carrying their own, and their positions are sent as float offsets from the first effect.
+ */
+public record MessageVisualEffect(List<ItemStack> colorizers, List<Effect> effects) implements CustomPacketPayload {
 
 	public static final int TYPE_CRAFT = 0;
+	public static final int TYPE_PARTICLE_TRAIL = 1;
 
 	public static final ResourceLocation ID = Psi.location("message_visual_effect");
 	public static final CustomPacketPayload.Type<MessageVisualEffect> TYPE = new Type<>(ID);
 
 	public static final StreamCodec<RegistryFriendlyByteBuf, MessageVisualEffect> CODEC = new StreamCodec<>() {
 		public MessageVisualEffect decode(RegistryFriendlyByteBuf pBuffer) {
-			return new MessageVisualEffect(
-					pBuffer.readInt(),
-					pBuffer.readDouble(),
-					pBuffer.readDouble(),
-					pBuffer.readDouble(),
-					pBuffer.readDouble(),
-					pBuffer.readDouble(),
-					pBuffer.readDouble(),
-					pBuffer.readInt()
-			);
+			int colorizerCount = pBuffer.readVarInt();
+			List<ItemStack> colorizers = new ArrayList<>(colorizerCount);
+			for(int i = 0; i < colorizerCount; i++) {
+				colorizers.add(ItemStack.OPTIONAL_STREAM_CODEC.decode(pBuffer));
+			}
+
+			int effectCount = pBuffer.readVarInt();
+			List<Effect> effects = new ArrayList<>(effectCount);
+			if(effectCount > 0) {
+				Vec3 origin = pBuffer.readVec3();
+				for(int i = 0; i < effectCount; i++) {
+					int type = pBuffer.readByte();
+					int colorizer = pBuffer.readVarInt();
+					double x = origin.x + pBuffer.readFloat();
+					double y = origin.y + pBuffer.readFloat();
+					double z = origin.z + pBuffer.readFloat();
+					float a = pBuffer.readFloat();
+					float b = pBuffer.readFloat();
+					float c = pBuffer.readFloat();
+					float d = type == TYPE_PARTICLE_TRAIL ? pBuffer.readFloat() : 0;
+					int time = type == TYPE_PARTICLE_TRAIL ? pBuffer.readVarInt() : 0;
+					effects.add(new Effect(type, colorizer, x, y, z, a, b, c, d, time));
+				}
+			}
+			return new MessageVisualEffect(colorizers, effects);
 		}
 
 		public void encode(RegistryFriendlyByteBuf pBuffer, MessageVisualEffect message) {
-			pBuffer.writeInt(message.color());
-			pBuffer.writeDouble(message.x());
-			pBuffer.writeDouble(message.y());
-			pBuffer.writeDouble(message.z());
-			pBuffer.writeDouble(message.width());
-			pBuffer.writeDouble(message.height());
-			pBuffer.writeDouble(message.offset());
-			pBuffer.writeInt(message.effectType());
+			pBuffer.writeVarInt(message.colorizers().size());
+			for(ItemStack colorizer : message.colorizers()) {
+				ItemStack.OPTIONAL_STREAM_CODEC.encode(pBuffer, colorizer);
+			}
+
+			pBuffer.writeVarInt(message.effects().size());
+			if(!message.effects().isEmpty()) {
+				Effect first = message.effects().get(0);
+				pBuffer.writeVec3(new Vec3(first.x(), first.y(), first.z()));
+				for(Effect effect : message.effects()) {
+					pBuffer.writeByte(effect.type());
+					pBuffer.writeVarInt(effect.colorizer());
+					pBuffer.writeFloat((float) (effect.x() - first.x()));
+					pBuffer.writeFloat((float) (effect.y() - first.y()));
+					pBuffer.writeFloat((float) (effect.z() - first.z()));
+					pBuffer.writeFloat(effect.a());
+					pBuffer.writeFloat(effect.b());
+					pBuffer.writeFloat(effect.c());
+					if(effect.type() == TYPE_PARTICLE_TRAIL) {
+						pBuffer.writeFloat(effect.d());
+						pBuffer.writeVarInt(effect.time());
+					}
+				}
+			}
 		}
 	};
+	private static final int STEPS_PER_UNIT = 4;
 
 	@Override
 	public Type<? extends CustomPacketPayload> type() {
@@ -58,36 +100,72 @@ public Type<? extends CustomPacketPayload> type() {
 	}
 
 	public void handle(IPayloadContext ctx) {
-		float r = ((color >> 16) & 0xFF) / 255f;
-		float g = ((color >> 8) & 0xFF) / 255f;
-		float b = (color & 0xFF) / 255f;
-
 		ctx.enqueueWork(() -> {
 			Level world = Psi.proxy.getClientWorld();
-			switch(effectType) {
-			case TYPE_CRAFT:
-				for(int i = 0; i < 5; i++) {
-					double particleX = x + (Math.random() - 0.5) * 2.1 * width;
-					double particleY = y - offset;
-					double particleZ = z + (Math.random() - 0.5) * 2.1 * width;
-					float grav = -0.05F - (float) Math.random() * 0.01F;
-					Psi.proxy.sparkleFX(particleX, particleY, particleZ, r, g, b, grav, 3.5F, 15);
-
-					double m = 0.01;
-					double d3 = 10.0D;
-					for(int j = 0; j < 3; j++) {
-						double d0 = world.random.nextGaussian() * m;
-						double d1 = world.random.nextGaussian() * m;
-						double d2 = world.random.nextGaussian() * m;
-
-						world.addParticle(ParticleTypes.EXPLOSION,
-								x + world.random.nextFloat() * width * 2.0F - width - d0 * d3,
-								y + world.random.nextFloat() * height - d1 * d3,
-								z + world.random.nextFloat() * width * 2.0F - width - d2 * d3, d0, d1, d2);
-					}
+			if(world == null) {
+				return;
+			}
+
+			for(Effect effect : effects) {
+				int color = Psi.proxy.getColorForColorizer(colorizers.get(effect.colorizer()));
+				float r = PsiRenderHelper.r(color) / 255F;
+				float g = PsiRenderHelper.g(color) / 255F;
+				float b = PsiRenderHelper.b(color) / 255F;
+
+				switch(effect.type()) {
+				case TYPE_CRAFT:
+					craft(world, effect, r, g, b);
+					break;
+				case TYPE_PARTICLE_TRAIL:
+					particleTrail(world, effect, r, g, b);
+					break;
 				}
-				break;
 			}
 		});
 	}
+
+	private static void craft(Level world, Effect effect, float r, float g, float b) {
+		double x = effect.x(), y = effect.y(), z = effect.z();
+		float width = effect.a(), height = effect.b(), offset = effect.c();
+		for(int i = 0; i < 5; i++) {
+			double particleX = x + (Math.random() - 0.5) * 2.1 * width;
+			double particleY = y - offset;
+			double particleZ = z + (Math.random() - 0.5) * 2.1 * width;
+			float grav = -0.05F - (float) Math.random() * 0.01F;
+			Psi.proxy.sparkleFX(particleX, particleY, particleZ, r, g, b, grav, 3.5F, 15);
+
+			double m = 0.01;
+			double d3 = 10.0D;
+			for(int j = 0; j < 3; j++) {
+				double d0 = world.random.nextGaussian() * m;
+				double d1 = world.random.nextGaussian() * m;
+				double d2 = world.random.nextGaussian() * m;
+
+				world.addParticle(ParticleTypes.EXPLOSION,
+						x + world.random.nextFloat() * width * 2.0F - width - d0 * d3,
+						y + world.random.nextFloat() * height - d1 * d3,
+						z + world.random.nextFloat() * width * 2.0F - width - d2 * d3, d0, d1, d2);
+			}
+		}
+	}
+
+	private static void particleTrail(Level world, Effect effect, float r, float g, float b) {
+		Vec3 ray = new Vec3(effect.a(), effect.b(), effect.c()).normalize().scale(1f / STEPS_PER_UNIT);
+		int steps = (int) (effect.d() * STEPS_PER_UNIT);
+
+		for(int i = 0; i < steps; i++) {
+			double x = effect.x() + ray.x * i;
+			double y = effect.y() + ray.y * i;
+			double z = effect.z() + ray.z * i;
+
+			Psi.proxy.sparkleFX(world, x, y, z, r, g, b, 0, 0, 0, 1f, effect.time());
+		}
+	}
+
+	/**
+	 * A single effect of the batch. For crafting a, b and c are the width, height and vertical offset of the
+	 * crafted item. For particle trails a, b and c are the direction, d the length and time the particle lifetime.
+	 */
+	public record Effect(int type, int colorizer, double x, double y, double z, float a, float b, float c, float d,
+			int time) {}
 }
@@ -23,6 +23,8 @@
 import vazkii.psi.api.spell.SpellPiece;
 import vazkii.psi.common.Psi;
 
+import java.util.Objects;
+
 public class PieceConstantNumber extends SpellPiece {
 
 	private static final String TAG_CONSTANT_VALUE = "constantValue";
@@ -64,6 +66,11 @@ public void drawAdditional(PoseStack pPoseStack, MultiBufferSource buffers, int
 		pPoseStack.popPose();
 	}
 
+	@Override
+	public int getDrawStateHash() {
+		return 31 * super.getDrawStateHash() + Objects.hashCode(valueStr);
+	}
+
 	@Override
 	public boolean interceptKeystrokes() {
 		return true;
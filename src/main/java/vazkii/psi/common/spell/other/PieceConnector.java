@@ -12,15 +12,15 @@
 import com.mojang.blaze3d.vertex.VertexConsumer;
 
 import net.minecraft.client.renderer.MultiBufferSource;
-import net.minecraft.client.resources.model.Material;
+import net.minecraft.client.renderer.texture.TextureAtlasSprite;
 import net.minecraft.network.chat.Component;
 import net.minecraft.resources.ResourceLocation;
-import net.minecraft.world.inventory.InventoryMenu;
 import net.neoforged.api.distmarker.Dist;
 import net.neoforged.api.distmarker.OnlyIn;
 
 import org.joml.Matrix4f;
 
+import vazkii.psi.api.ClientPsiAPI;
 import vazkii.psi.api.spell.*;
 import vazkii.psi.api.spell.param.ParamAny;
 import vazkii.psi.common.lib.LibResources;
@@ -67,8 +67,8 @@ public void drawAdditional(PoseStack pPoseStack, MultiBufferSource buffers, int
 	@OnlyIn(Dist.CLIENT)
 	private void drawSide(PoseStack pPoseStack, MultiBufferSource buffers, int light, SpellParam.Side side) {
 		if(side.isEnabled()) {
-			Material material = new Material(InventoryMenu.BLOCK_ATLAS, LINES_TEXTURE);
-			VertexConsumer buffer = material.buffer(buffers, ignored -> SpellPiece.getLayer());
+			TextureAtlasSprite sprite = ClientPsiAPI.getBlockAtlasSprite(LINES_TEXTURE);
+			VertexConsumer buffer = buffers.getBuffer(SpellPiece.getLayer());
 
 			float minU = 0;
 			float minV = 0;
@@ -88,21 +88,16 @@ private void drawSide(PoseStack pPoseStack, MultiBufferSource buffers, int light
 				break;
 			}
 
-			float maxU = minU + 0.5f;
-			float maxV = minV + 0.5f;
+			float maxU = sprite.getU(minU + 0.5f);
+			float maxV = sprite.getV(minV + 0.5f);
+			minU = sprite.getU(minU);
+			minV = sprite.getV(minV);
 
-			/*
-			See note in SpellPiece#drawBackground for why this chain needs to be split
-			*/
 			Matrix4f mat = pPoseStack.last().pose();
-			buffer.addVertex(mat, 0, 16, 0).setColor(1F, 1F, 1F, 1F);
-			buffer.setUv(minU, maxV).setLight(light);
-			buffer.addVertex(mat, 16, 16, 0).setColor(1F, 1F, 1F, 1F);
-			buffer.setUv(maxU, maxV).setLight(light);
-			buffer.addVertex(mat, 16, 0, 0).setColor(1F, 1F, 1F, 1F);
-			buffer.setUv(maxU, minV).setLight(light);
-			buffer.addVertex(mat, 0, 0, 0).setColor(1F, 1F, 1F, 1F);
-			buffer.setUv(minU, minV).setLight(light);
+			buffer.addVertex(mat, 0, 16, 0).setColor(1F, 1F, 1F, 1F).setUv(minU, maxV).setLight(light);
+			buffer.addVertex(mat, 16, 16, 0).setColor(1F, 1F, 1F, 1F).setUv(maxU, maxV).setLight(light);
+			buffer.addVertex(mat, 16, 0, 0).setColor(1F, 1F, 1F, 1F).setUv(maxU, minV).setLight(light);
+			buffer.addVertex(mat, 0, 0, 0).setColor(1F, 1F, 1F, 1F).setUv(minU, minV).setLight(light);
 		}
 	}
 
@@ -12,20 +12,18 @@
 import com.mojang.blaze3d.vertex.VertexConsumer;
 
 import net.minecraft.client.renderer.MultiBufferSource;
-import net.minecraft.client.resources.model.Material;
+import net.minecraft.client.renderer.texture.TextureAtlasSprite;
 import net.minecraft.network.chat.Component;
-import net.minecraft.resources.ResourceLocation;
-import net.minecraft.world.inventory.InventoryMenu;
 import net.neoforged.api.distmarker.Dist;
 import net.neoforged.api.distmarker.OnlyIn;
 
 import org.joml.Matrix4f;
 
+import vazkii.psi.api.ClientPsiAPI;
 import vazkii.psi.api.internal.PsiRenderHelper;
 import vazkii.psi.api.spell.*;
 import vazkii.psi.api.spell.SpellParam.ArrowType;
 import vazkii.psi.api.spell.param.ParamAny;
-import vazkii.psi.common.lib.LibResources;
 
 public class PieceCrossConnector extends SpellPiece implements IGenericRedirector {
 
@@ -81,8 +79,8 @@ public void drawAdditional(PoseStack pPoseStack, MultiBufferSource buffers, int
 	@OnlyIn(Dist.CLIENT)
 	private void drawSide(PoseStack pPoseStack, MultiBufferSource buffers, SpellParam.Side side, int light, int color) {
 		if(side.isEnabled()) {
-			Material material = new Material(InventoryMenu.BLOCK_ATLAS, ResourceLocation.parse(LibResources.SPELL_CONNECTOR_LINES));
-			VertexConsumer buffer = material.buffer(buffers, ignored -> SpellPiece.getLayer());
+			TextureAtlasSprite sprite = ClientPsiAPI.getBlockAtlasSprite(PieceConnector.LINES_TEXTURE);
+			VertexConsumer buffer = buffers.getBuffer(SpellPiece.getLayer());
 
 			float minU = 0;
 			float minV = 0;
@@ -102,24 +100,19 @@ private void drawSide(PoseStack pPoseStack, MultiBufferSource buffers, SpellPara
 				break;
 			}
 
-			float maxU = minU + 0.5f;
-			float maxV = minV + 0.5f;
+			float maxU = sprite.getU(minU + 0.5f);
+			float maxV = sprite.getV(minV + 0.5f);
+			minU = sprite.getU(minU);
+			minV = sprite.getV(minV);
 			float r = PsiRenderHelper.r(color) / 255f;
 			float g = PsiRenderHelper.g(color) / 255f;
 			float b = PsiRenderHelper.b(color) / 255f;
 
-			/*
-			See note in SpellPiece#drawBackground for why this chain needs to be split
-			*/
 			Matrix4f mat = pPoseStack.last().pose();
-			buffer.addVertex(mat, 0, 16, 0).setColor(r, g, b, 1F);
-			buffer.setUv(minU, maxV).setLight(light);
-			buffer.addVertex(mat, 16, 16, 0).setColor(r, g, b, 1F);
-			buffer.setUv(maxU, maxV).setLight(light);
-			buffer.addVertex(mat, 16, 0, 0).setColor(r, g, b, 1F);
-			buffer.setUv(maxU, minV).setLight(light);
-			buffer.addVertex(mat, 0, 0, 0).setColor(r, g, b, 1F);
-			buffer.setUv(minU, minV).setLight(light);
+			buffer.addVertex(mat, 0, 16, 0).setColor(r, g, b, 1F).setUv(minU, maxV).setLight(light);
+			buffer.addVertex(mat, 16, 16, 0).setColor(r, g, b, 1F).setUv(maxU, maxV).setLight(light);
+			buffer.addVertex(mat, 16, 0, 0).setColor(r, g, b, 1F).setUv(maxU, minV).setLight(light);
+			buffer.addVertex(mat, 0, 0, 0).setColor(r, g, b, 1F).setUv(minU, minV).setLight(light);
 		}
 	}
 
@@ -49,7 +49,7 @@ public Object execute(SpellContext context) throws SpellRuntimeException {
 		int numberVal = this.getParamValue(context, number).intValue();
 
 		int n = numberVal - 1;
-		if(context.customData.containsKey(PieceTrickSaveVector.KEY_SLOT_LOCKED + n)) {
+		if(context.hasCustomData(PieceTrickSaveVector.KEY_SLOT_LOCKED + n)) {
 			throw new SpellRuntimeException(SpellRuntimeException.LOCKED_MEMORY);
 		}
 
@@ -0,0 +1,172 @@
+/*
+ * This class is distributed as part of the Psi Mod.
+ * Get the Source Code in github:
+ * https://github.com/Vazkii/Psi
+ *
+ * Psi is Open Source and distributed under the
+ * Psi License: https://psi.vazkii.net/license.php
+ */
+package vazkii.psi.common.spell.selector.entity;
+
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+
+import net.minecraft.core.SectionPos;
+import net.minecraft.world.entity.Entity;
+import net.minecraft.world.level.Level;
+import net.minecraft.world.phys.AABB;
+import net.neoforged.bus.api.SubscribeEvent;
+import net.neoforged.fml.common.EventBusSubscriber;
+import net.neoforged.neoforge.event.entity.EntityEvent;
+import net.neoforged.neoforge.event.entity.EntityJoinLevelEvent;
+import net.neoforged.neoforge.event.tick.LevelTickEvent;
+
+import vazkii.psi.common.lib.LibMisc;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.function.Predicate;
+
+/**
+ * The entities of a level bucketed by the chunk section they stand in, gathered lazily and dropped every tick.
+ * Nearby selectors query this instead of the level, so several selectors (or casters) looking around the
+ * same spot in one tick share a single entity lookup.
+ * <p>
+ * A section is gathered again as soon as an entity joins the level in it or moves into or out of it, so spells
+ * see the entities they conjured or dropped earlier in the same tick.
+ */
+@EventBusSubscriber(modid = LibMisc.MOD_ID)
+public final class NearbyEntitySnapshot {
+
+	private static final Map<Level, NearbyEntitySnapshot> SNAPSHOTS = Collections.synchronizedMap(new WeakHashMap<>());
+
+	// How far an entity's bounding box may stick out of the section it stands in, same margin vanilla uses
+	private static final double MAX_ENTITY_REACH = 2.0;
+
+	private final Level world;
+	private final Long2ObjectOpenHashMap<List<Entity>> sections = new Long2ObjectOpenHashMap<>();
+
+	private NearbyEntitySnapshot(Level world) {
+		this.world = world;
+	}
+
+	@SubscribeEvent
+	public static void onLevelTickStart(LevelTickEvent.Pre event) {
+		clear(event.getLevel());
+	}
+
+	@SubscribeEvent
+	public static void onLevelTickEnd(LevelTickEvent.Post event) {
+		clear(event.getLevel());
+	}
+
+	@SubscribeEvent
+	public static void onEntityJoin(EntityJoinLevelEvent event) {
+		forget(event.getLevel(), SectionPos.asLong(event.getEntity().blockPosition()));
+	}
+
+	@SubscribeEvent
+	public static void onEntityEnteringSection(EntityEvent.EnteringSection event) {
+		Level world = event.getEntity().level();
+		forget(world, event.getPackedOldPos());
+		forget(world, event.getPackedNewPos());
+	}
+
+	private static void forget(Level world, long section) {
+		NearbyEntitySnapshot snapshot = SNAPSHOTS.get(world);
+		if(snapshot != null) {
+			snapshot.sections.remove(section);
+		}
+	}
+
+	private static void clear(Level world) {
+		NearbyEntitySnapshot snapshot = SNAPSHOTS.get(world);
+		if(snapshot != null) {
+			snapshot.sections.clear();
+		}
+	}
+
+	/**
+	 * Equivalent to {@link Level#getEntities(Entity, AABB, Predicate)} with a null entity, served from this
+	 * tick's snapshot.
+	 */
+	public static List<Entity> getEntities(Level world, AABB area, Predicate<Entity> filter) {
+		return SNAPSHOTS.computeIfAbsent(world, NearbyEntitySnapshot::new).query(area, filter);
+	}
+
+	private List<Entity> query(AABB area, Predicate<Entity> filter) {
+		int minX = SectionPos.posToSectionCoord(area.minX - MAX_ENTITY_REACH);
+		int minY = SectionPos.posToSectionCoord(area.minY - MAX_ENTITY_REACH);
+		int minZ = SectionPos.posToSectionCoord(area.minZ - MAX_ENTITY_REACH);
+		int maxX = SectionPos.posToSectionCoord(area.maxX + MAX_ENTITY_REACH);
+		int maxY = SectionPos.posToSectionCoord(area.maxY + MAX_ENTITY_REACH);
+		int maxZ = SectionPos.posToSectionCoord(area.maxZ + MAX_ENTITY_REACH);
+		gather(minX, minY, minZ, maxX, maxY, maxZ);
+
+		List<Entity> result = new ArrayList<>();
+		for(int x = minX; x <= maxX; x++) {
+			for(int y = minY; y <= maxY; y++) {
+				for(int z = minZ; z <= maxZ; z++) {
+					for(Entity e : sections.get(SectionPos.asLong(x, y, z))) {
+						if(!e.isRemoved() && e.getBoundingBox().intersects(area) && filter.test(e)) {
+							result.add(e);
+						}
+					}
+				}
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * Looks up every section of the range that wasn't gathered yet with one level query over their bounds.
+	 */
+	private void gather(int minX, int minY, int minZ, int maxX, int maxY, int maxZ) {
+		int fromX = Integer.MAX_VALUE, fromY = Integer.MAX_VALUE, fromZ = Integer.MAX_VALUE;
+		int toX = Integer.MIN_VALUE, toY = Integer.MIN_VALUE, toZ = Integer.MIN_VALUE;
+		for(int x = minX; x <= maxX; x++) {
+			for(int y = minY; y <= maxY; y++) {
+				for(int z = minZ; z <= maxZ; z++) {
+					if(!sections.containsKey(SectionPos.asLong(x, y, z))) {
+						fromX = Math.min(fromX, x);
+						fromY = Math.min(fromY, y);
+						fromZ = Math.min(fromZ, z);
+						toX = Math.max(toX, x);
+						toY = Math.max(toY, y);
+						toZ = Math.max(toZ, z);
+					}
+				}
+			}
+		}
+		if(fromX > toX) {
+			return;
+		}
+
+		AABB bounds = new AABB(SectionPos.sectionToBlockCoord(fromX), SectionPos.sectionToBlockCoord(fromY), SectionPos.sectionToBlockCoord(fromZ),
+				SectionPos.sectionToBlockCoord(toX + 1), SectionPos.sectionToBlockCoord(toY + 1), SectionPos.sectionToBlockCoord(toZ + 1));
+		Long2ObjectOpenHashMap<List<Entity>> found = new Long2ObjectOpenHashMap<>();
+		for(Entity e : world.getEntities((Entity) null, bounds)) {
+			long key = SectionPos.asLong(e.blockPosition());
+			List<Entity> bucket = found.get(key);
+			if(bucket == null) {
+				bucket = new ArrayList<>();
+				found.put(key, bucket);
+			}
+			bucket.add(e);
+		}
+
+		for(int x = fromX; x <= toX; x++) {
+			for(int y = fromY; y <= toY; y++) {
+				for(int z = fromZ; z <= toZ; z++) {
+					long key = SectionPos.asLong(x, y, z);
+					if(!sections.containsKey(key)) {
+						sections.put(key, found.getOrDefault(key, List.of()));
+					}
+				}
+			}
+		}
+	}
+
+}
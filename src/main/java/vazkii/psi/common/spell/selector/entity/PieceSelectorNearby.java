@@ -63,7 +63,7 @@ public Object execute(SpellContext context) throws SpellRuntimeException {
 
 		Predicate<Entity> pred = getTargetPredicate(context);
 
-		List<Entity> list = context.caster.getCommandSenderWorld().getEntitiesOfClass(Entity.class, area, (Entity e) -> e != null && pred.test(e) && e != context.caster && e != context.focalPoint && context.isInRadius(e));
+		List<Entity> list = NearbyEntitySnapshot.getEntities(context.caster.getCommandSenderWorld(), area, (Entity e) -> e != null && pred.test(e) && e != context.caster && e != context.focalPoint && context.isInRadius(e));
 
 		return EntityListWrapper.make(list);
 	}
@@ -8,16 +8,14 @@
  */
 package vazkii.psi.common.spell.selector.entity;
 
-import net.minecraft.core.RegistryAccess;
 import net.minecraft.world.entity.Entity;
 import net.minecraft.world.entity.item.ItemEntity;
 import net.minecraft.world.item.ItemStack;
-import net.minecraft.world.item.crafting.RecipeType;
-import net.minecraft.world.item.crafting.SingleRecipeInput;
 import net.minecraft.world.level.Level;
 
 import vazkii.psi.api.spell.Spell;
 import vazkii.psi.api.spell.SpellContext;
+import vazkii.psi.common.crafting.SmeltingResultCache;
 
 import java.util.function.Predicate;
 
@@ -27,10 +25,11 @@ public PieceSelectorNearbySmeltables(Spell spell) {
 		super(spell);
 	}
 
+	/**
+	 * @return the smelting result of the stack, see {@link SmeltingResultCache#getResult}
+	 */
 	public static ItemStack simulateSmelt(Level world, ItemStack input) {
-		return world.getRecipeManager().getRecipeFor(RecipeType.SMELTING, new SingleRecipeInput(input), world)
-				.map(foo -> foo.value().getResultItem(RegistryAccess.EMPTY))
-				.orElse(ItemStack.EMPTY);
+		return SmeltingResultCache.getResult(world, input);
 	}
 
 	@Override
@@ -9,15 +9,17 @@
 package vazkii.psi.common.spell.trick;
 
 import net.minecraft.server.level.ServerLevel;
+import net.minecraft.world.item.ItemStack;
 
 import vazkii.psi.api.PsiAPI;
+import vazkii.psi.api.cad.EnumCADComponent;
+import vazkii.psi.api.cad.ICAD;
 import vazkii.psi.api.internal.Vector3;
 import vazkii.psi.api.spell.*;
 import vazkii.psi.api.spell.param.ParamNumber;
 import vazkii.psi.api.spell.param.ParamVector;
 import vazkii.psi.api.spell.piece.PieceTrick;
-import vazkii.psi.common.network.MessageRegister;
-import vazkii.psi.common.network.message.MessageParticleTrail;
+import vazkii.psi.common.core.handler.VisualEffectHandler;
 
 public class PieceTrickParticleTrail extends PieceTrick {
 	SpellParam<Vector3> positionParam;
@@ -64,7 +66,9 @@ public Object execute(SpellContext context) throws SpellRuntimeException {
 			throw new SpellRuntimeException(SpellRuntimeException.OUTSIDE_RADIUS);
 		}
 
-		MessageRegister.sendToPlayersInDimension((ServerLevel) context.focalPoint.getCommandSenderWorld(), new MessageParticleTrail(pos.toVec3D(), dir.toVec3D(), length, time, PsiAPI.getPlayerCAD(context.caster)));
+		ItemStack cad = PsiAPI.getPlayerCAD(context.caster);
+		ItemStack colorizer = cad.getItem() instanceof ICAD icad ? icad.getComponentInSlot(cad, EnumCADComponent.DYE) : ItemStack.EMPTY;
+		VisualEffectHandler.particleTrail((ServerLevel) context.focalPoint.getCommandSenderWorld(), pos.toVec3D(), dir.toVec3D(), length, time, colorizer);
 		return null;
 	}
 }
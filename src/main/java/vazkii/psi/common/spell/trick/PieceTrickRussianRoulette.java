@@ -15,6 +15,7 @@
 import vazkii.psi.api.cad.ISocketable;
 import vazkii.psi.api.spell.*;
 import vazkii.psi.api.spell.piece.PieceTrick;
+import vazkii.psi.common.core.handler.LoopcastSession;
 import vazkii.psi.common.core.handler.PlayerDataHandler;
 
 import java.util.Objects;
@@ -46,7 +47,10 @@ public Object execute(SpellContext context) throws SpellRuntimeException {
 
 		capability.setSelectedSlot(targetSlot);
 		if(updateLoopcast) {
-			PlayerDataHandler.get(context.caster).lastTickLoopcastStack = stack.copy();
+			LoopcastSession session = PlayerDataHandler.get(context.caster).loopcastSession;
+			if(session != null) {
+				session.onSocketChanged(capability);
+			}
 		}
 		return null;
 	}
@@ -56,7 +56,7 @@ public Object execute(SpellContext context) throws SpellRuntimeException {
 
 		int n = numberVal.intValue() - 1;
 
-		if(context.customData.containsKey(KEY_SLOT_LOCKED + n)) {
+		if(context.hasCustomData(KEY_SLOT_LOCKED + n)) {
 			return null;
 		}
 
@@ -66,7 +66,7 @@ public Object execute(SpellContext context) throws SpellRuntimeException {
 		}
 		cad.setStoredVector(cadStack, n, targetVal);
 
-		context.customData.put(KEY_SLOT_LOCKED + n, 0);
+		context.getCustomData().put(KEY_SLOT_LOCKED + n, 0);
 
 		return null;
 	}
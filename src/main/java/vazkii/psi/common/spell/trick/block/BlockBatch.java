@@ -0,0 +1,105 @@
+/*
+ * This class is distributed as part of the Psi Mod.
+ * Get the Source Code in github:
+ * https://github.com/Vazkii/Psi
+ *
+ * Psi is Open Source and distributed under the
+ * Psi License: https://psi.vazkii.net/license.php
+ */
+package vazkii.psi.common.spell.trick.block;
+
+import net.minecraft.core.BlockPos;
+import net.minecraft.core.SectionPos;
+import net.minecraft.world.level.Level;
+import net.minecraft.world.level.block.Block;
+import net.minecraft.world.level.block.LevelEvent;
+import net.minecraft.world.level.block.state.BlockState;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Collects the block changes of a sequence trick and applies them in one go.
+ * <p>
+ * Changes are applied grouped by chunk section with only client updates enabled, so the chunk holder
+ * coalesces them into a single section update packet per section at the end of the tick. Neighbour
+ * updates are fired once per changed position after every change has been applied, so blocks in the
+ * sequence never react to each other's intermediate states.
+ * <p>
+ * Only the last state queued for a given position is applied.
+ */
+public final class BlockBatch {
+
+	private static final Comparator<Map.Entry<BlockPos, BlockState>> BY_SECTION = Comparator.comparingLong(entry -> SectionPos.asLong(entry.getKey()));
+
+	private final Level world;
+	private final Map<BlockPos, BlockState> changes = new LinkedHashMap<>();
+	private final Map<BlockPos, BlockState> breakEffects = new LinkedHashMap<>();
+
+	public BlockBatch(Level world) {
+		this.world = world;
+	}
+
+	public void set(BlockPos pos, BlockState state) {
+		changes.put(pos.immutable(), state);
+	}
+
+	/**
+	 * Queues the removal of a block, leaving behind whatever fluid was in it, like {@link Level#removeBlock}.
+	 */
+	public void remove(BlockPos pos) {
+		set(pos, world.getFluidState(pos).createLegacyBlock());
+	}
+
+	/**
+	 * Queues the block break particles and sound for the given state, played once the batch is applied.
+	 */
+	public void breakEffect(BlockPos pos, BlockState state) {
+		breakEffects.put(pos.immutable(), state);
+	}
+
+	public boolean isEmpty() {
+		return changes.isEmpty() && breakEffects.isEmpty();
+	}
+
+	/**
+	 * Applies every queued change and effect, then clears the batch.
+	 *
+	 * @return the positions that actually changed, in the order they were applied
+	 */
+	public List<BlockPos> apply() {
+		List<Map.Entry<BlockPos, BlockState>> ordered = new ArrayList<>(changes.entrySet());
+		ordered.sort(BY_SECTION);
+
+		List<BlockPos> changed = new ArrayList<>(ordered.size());
+		List<BlockState> previous = new ArrayList<>(ordered.size());
+		for(Map.Entry<BlockPos, BlockState> entry : ordered) {
+			BlockPos pos = entry.getKey();
+			BlockState old = world.getBlockState(pos);
+			if(world.setBlock(pos, entry.getValue(), Block.UPDATE_CLIENTS)) {
+				changed.add(pos);
+				previous.add(old);
+			}
+		}
+
+		for(int i = 0; i < changed.size(); i++) {
+			BlockPos pos = changed.get(i);
+			BlockState state = world.getBlockState(pos);
+			world.blockUpdated(pos, previous.get(i).getBlock());
+			if(!world.isClientSide && state.hasAnalogOutputSignal()) {
+				world.updateNeighbourForOutputSignal(pos, state.getBlock());
+			}
+		}
+
+		for(Map.Entry<BlockPos, BlockState> entry : breakEffects.entrySet()) {
+			world.levelEvent(LevelEvent.PARTICLES_DESTROY_BLOCK, entry.getKey(), Block.getId(entry.getValue()));
+		}
+
+		changes.clear();
+		breakEffects.clear();
+		return changed;
+	}
+}
@@ -13,9 +13,7 @@
 import net.minecraft.server.level.ServerPlayer;
 import net.minecraft.world.InteractionHand;
 import net.minecraft.world.entity.player.Player;
-import net.minecraft.world.item.Item;
 import net.minecraft.world.item.ItemStack;
-import net.minecraft.world.item.Items;
 import net.minecraft.world.level.Level;
 import net.minecraft.world.level.block.Block;
 import net.minecraft.world.level.block.LevelEvent;
@@ -28,21 +26,12 @@
 import vazkii.psi.api.spell.param.ParamVector;
 import vazkii.psi.api.spell.piece.PieceTrick;
 import vazkii.psi.common.core.handler.ConfigHandler;
+import vazkii.psi.common.core.handler.HarvestabilityCache;
 
-import java.util.List;
 import java.util.function.Predicate;
-import java.util.stream.Collectors;
-import java.util.stream.Stream;
 
 public class PieceTrickBreakBlock extends PieceTrick {
 
-	private static final List<List<ItemStack>> HARVEST_TOOLS_BY_LEVEL = List.of(
-			stacks(Items.WOODEN_PICKAXE, Items.WOODEN_AXE, Items.WOODEN_HOE, Items.WOODEN_SHOVEL),
-			stacks(Items.STONE_PICKAXE, Items.STONE_AXE, Items.STONE_HOE, Items.STONE_SHOVEL),
-			stacks(Items.IRON_PICKAXE, Items.IRON_AXE, Items.IRON_HOE, Items.IRON_SHOVEL),
-			stacks(Items.DIAMOND_PICKAXE, Items.DIAMOND_AXE, Items.DIAMOND_HOE, Items.DIAMOND_SHOVEL),
-			stacks(Items.NETHERITE_PICKAXE, Items.NETHERITE_AXE, Items.NETHERITE_HOE, Items.NETHERITE_SHOVEL)
-	);
 	public static ThreadLocal<Boolean> doingHarvestCheck = ThreadLocal.withInitial(() -> false);
 	SpellParam<Vector3> position;
 
@@ -113,42 +102,13 @@ public static boolean canHarvestBlock(BlockState state, Player player, Level wor
 		return canHarvest;
 	}
 
-	private static List<ItemStack> stacks(Item... items) {
-		return Stream.of(items).map(ItemStack::new).collect(Collectors.toList());
-	}
-
 	public static boolean canHarvest(int harvestLevel, BlockState state) {
-		return !getTool(harvestLevel, state).isEmpty();
-	}
-
-	private static ItemStack getTool(int harvestLevel, BlockState state) {
-		if(!state.requiresCorrectToolForDrops()) {
-			return HARVEST_TOOLS_BY_LEVEL.getFirst().getFirst();
-		}
-
-		int idx = Math.min(harvestLevel, HARVEST_TOOLS_BY_LEVEL.size() - 1);
-		for(var tool : HARVEST_TOOLS_BY_LEVEL.get(idx)) {
-			if(tool.isCorrectToolForDrops(state)) {
-				return tool;
-			}
-		}
-
-		return ItemStack.EMPTY;
+		return HarvestabilityCache.canHarvest(harvestLevel, state);
 	}
 
 	//TODO Fix mining level on blocks that can be broken by hand.
 	public static int getHarvestLevel(BlockState state) {
-		if(Items.AIR.isCorrectToolForDrops(Items.AIR.getDefaultInstance(), state)) {
-			return 0;
-		}
-		for(int i = 0; i < HARVEST_TOOLS_BY_LEVEL.size(); i++) {
-			for(var tool : HARVEST_TOOLS_BY_LEVEL.get(i)) {
-				if(tool.isCorrectToolForDrops(state)) {
-					return i + 1;
-				}
-			}
-		}
-		return HARVEST_TOOLS_BY_LEVEL.size() + 1;
+		return HarvestabilityCache.getHarvestLevel(state);
 	}
 
 	@Override
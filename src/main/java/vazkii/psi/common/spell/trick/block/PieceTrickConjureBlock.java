@@ -43,32 +43,42 @@ public PieceTrickConjureBlock(Spell spell) {
 	public static void conjure(SpellContext context, @Nullable Number timeVal, BlockPos pos, Level world, BlockState state) {
 		if(world.getBlockState(pos).getBlock() != state.getBlock()) {
 			if(conjure(world, pos, context.caster, state)) {
-				if(timeVal != null && timeVal.intValue() > 0) {
-					int val = timeVal.intValue();
-					world.scheduleTick(pos, state.getBlock(), val);
-				}
+				postConjure(context, timeVal, pos, world, state);
+			}
+		}
+	}
 
-				BlockEntity tile = world.getBlockEntity(pos);
+	/**
+	 * Schedules the expiry and applies the caster's colorizer to a block that was just conjured.
+	 */
+	public static void postConjure(SpellContext context, @Nullable Number timeVal, BlockPos pos, Level world, BlockState state) {
+		if(timeVal != null && timeVal.intValue() > 0) {
+			int val = timeVal.intValue();
+			world.scheduleTick(pos, state.getBlock(), val);
+		}
 
-				ItemStack cad = PsiAPI.getPlayerCAD(context.caster);
-				if(tile instanceof TileConjured && !cad.isEmpty()) {
-					((TileConjured) tile).colorizer = ((ICAD) cad.getItem()).getComponentInSlot(cad, EnumCADComponent.DYE);
-				}
+		BlockEntity tile = world.getBlockEntity(pos);
 
-			}
+		ItemStack cad = PsiAPI.getPlayerCAD(context.caster);
+		if(tile instanceof TileConjured && !cad.isEmpty()) {
+			((TileConjured) tile).colorizer = ((ICAD) cad.getItem()).getComponentInSlot(cad, EnumCADComponent.DYE);
 		}
 	}
 
 	public static boolean conjure(Level world, BlockPos pos, Player player, BlockState state) {
+		if(!canConjure(world, pos, player)) {
+			return false;
+		}
+		return world.setBlockAndUpdate(pos, state);
+	}
+
+	public static boolean canConjure(Level world, BlockPos pos, Player player) {
 		if(!world.hasChunkAt(pos) || !world.mayInteract(player, pos)) {
 			return false;
 		}
 
 		BlockState inWorld = world.getBlockState(pos);
-		if(inWorld.isAir() || inWorld.canBeReplaced()) {
-			return world.setBlockAndUpdate(pos, state);
-		}
-		return false;
+		return inWorld.isAir() || inWorld.canBeReplaced();
 	}
 
 	@Override
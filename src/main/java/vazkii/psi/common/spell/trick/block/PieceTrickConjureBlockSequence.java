@@ -68,17 +68,25 @@ public Object execute(SpellContext context) throws SpellRuntimeException {
 
 		Vector3 targetNorm = targetVal.copy().normalize();
 		Level world = context.focalPoint.getCommandSenderWorld();
-
-		for(BlockPos blockPos : MathHelper.getBlocksAlongRay(positionVal.toVec3D(), positionVal.copy().add(targetNorm.copy().multiply(maxBlocksInt)).toVec3D(), maxBlocksInt)) {
-			if(!context.isInRadius(Vector3.fromBlockPos(blockPos))) {
-				throw new SpellRuntimeException(SpellRuntimeException.OUTSIDE_RADIUS);
+		BlockState state = messWithState(ModBlocks.conjured.defaultBlockState());
+
+		BlockBatch batch = new BlockBatch(world);
+		try {
+			MathHelper.BlockRayCursor ray = MathHelper.traceBlocksAlongRay(positionVal.toVec3D(), positionVal.copy().add(targetNorm.copy().multiply(maxBlocksInt)).toVec3D(), maxBlocksInt);
+			while(ray.next()) {
+				BlockPos blockPos = ray.pos();
+				if(!context.isInRadius(blockPos.getX(), blockPos.getY(), blockPos.getZ())) {
+					throw new SpellRuntimeException(SpellRuntimeException.OUTSIDE_RADIUS);
+				}
+
+				if(world.getBlockState(blockPos).getBlock() != state.getBlock() && PieceTrickConjureBlock.canConjure(world, blockPos, context.caster)) {
+					batch.set(blockPos, state);
+				}
 			}
-
-			if(!world.mayInteract(context.caster, blockPos)) {
-				continue;
+		} finally {
+			for(BlockPos blockPos : batch.apply()) {
+				PieceTrickConjureBlock.postConjure(context, timeVal, blockPos, world, state);
 			}
-
-			PieceTrickConjureBlock.conjure(context, timeVal, blockPos, world, messWithState(ModBlocks.conjured.defaultBlockState()));
 		}
 
 		return null;
@@ -8,11 +8,18 @@
  */
 package vazkii.psi.common.spell.trick.block;
 
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectMaps;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.longs.LongIterator;
+import it.unimi.dsi.fastutil.longs.LongLinkedOpenHashSet;
+import it.unimi.dsi.fastutil.longs.LongOpenHashSet;
+import it.unimi.dsi.fastutil.longs.LongSet;
+
 import net.minecraft.core.BlockPos;
 import net.minecraft.world.entity.player.Player;
 import net.minecraft.world.item.ItemStack;
 import net.minecraft.world.level.Level;
-import net.minecraft.world.level.block.Block;
 import net.minecraft.world.level.block.state.BlockState;
 import net.neoforged.neoforge.common.NeoForge;
 import net.neoforged.neoforge.event.level.BlockEvent;
@@ -24,10 +31,6 @@
 import vazkii.psi.api.spell.param.ParamVector;
 import vazkii.psi.api.spell.piece.PieceTrick;
 
-import java.util.HashMap;
-import java.util.LinkedHashSet;
-import java.util.Map;
-
 /**
  * 序列方块移动法术组件
  * 
@@ -87,15 +90,18 @@ public Object execute(SpellContext context) throws SpellRuntimeException {
 		Player player = context.caster;
 		ItemStack tool = context.getHarvestTool();
 
-		Map<BlockPos, BlockState> toSet = new HashMap<>();
-		Map<BlockPos, BlockState> toRemove = new HashMap<>();
+		Long2ObjectMap<BlockState> toSet = new Long2ObjectOpenHashMap<>();
+		Long2ObjectMap<BlockState> toRemove = new Long2ObjectOpenHashMap<>();
 
 		Vector3 directNorm = directionVal.copy().normalize();
 		Vector3 targetNorm = targetVal.copy().normalize();
+		int dx = (int) directNorm.x;
+		int dy = (int) directNorm.y;
+		int dz = (int) directNorm.z;
 
-		LinkedHashSet<BlockPos> positions = MathHelper.getBlocksAlongRay(positionVal.toVec3D(), positionVal.copy().add(targetNorm.copy().multiply(maxBlocksVal)).toVec3D(), maxBlocksVal);
-		LinkedHashSet<BlockPos> moveableBlocks = new LinkedHashSet<>();
-		LinkedHashSet<BlockPos> immovableBlocks = new LinkedHashSet<>();
+		// Positions are packed with BlockPos#asLong, the move order follows the ray
+		LongSet moveableBlocks = new LongLinkedOpenHashSet();
+		LongSet immovableBlocks = new LongOpenHashSet();
 
 		/*
 		 * TODO: Find a better solution than this bandaid for block duping (see #740)
@@ -106,76 +112,84 @@ public Object execute(SpellContext context) throws SpellRuntimeException {
 		 * position that you previously had broken.
 		 */
 		if(context.positionBroken != null) {
-			immovableBlocks.add(context.positionBroken.getBlockPos());
+			immovableBlocks.add(context.positionBroken.getBlockPos().asLong());
 		}
 
-		for(BlockPos blockPos : positions) {
-			BlockState state = world.getBlockState(blockPos);
+		MathHelper.BlockRayCursor ray = MathHelper.traceBlocksAlongRay(positionVal.toVec3D(), positionVal.copy().add(targetNorm.copy().multiply(maxBlocksVal)).toVec3D(), maxBlocksVal);
+		while(ray.next()) {
+			BlockState state = world.getBlockState(ray.pos());
 
 			// 跳过空气方块
-			if(world.isEmptyBlock(blockPos)) {
+			if(state.isAir()) {
 				continue;
 			}
 
+			BlockPos blockPos = ray.pos().immutable();
+			long packed = blockPos.asLong();
+
 			// 检查方块是否可移动
 			boolean isMovable = checkBlockMovability(state, world, blockPos, player, tool, context);
 			if(!isMovable) {
-				immovableBlocks.add(blockPos);
+				immovableBlocks.add(packed);
 				continue;
 			}
 
-			BlockPos pushToPos = blockPos.offset((int) directNorm.x, (int) directNorm.y, (int) directNorm.z);
-			boolean isOffWorld = pushToPos.getY() < 0 || pushToPos.getY() > 256;
+			int pushToY = blockPos.getY() + dy;
+			boolean isOffWorld = pushToY < 0 || pushToY > 256;
 			if(isOffWorld) {
-				immovableBlocks.add(blockPos);
+				immovableBlocks.add(packed);
 				continue;
 			}
 
 			BlockEvent.BreakEvent event = new BlockEvent.BreakEvent(world, blockPos, state, context.caster);
 
 			if(NeoForge.EVENT_BUS.post(event).isCanceled()) {
-				immovableBlocks.add(blockPos);
+				immovableBlocks.add(packed);
 				continue;
 			}
-			moveableBlocks.add(blockPos);
+			moveableBlocks.add(packed);
 		}
 
-		outer: for(BlockPos blockPos : moveableBlocks) {
-			BlockState state = world.getBlockState(blockPos);
-			BlockPos pushToPos = blockPos.offset((int) directNorm.x, (int) directNorm.y, (int) directNorm.z);
-			BlockState pushToState = world.getBlockState(pushToPos);
+		BlockPos.MutableBlockPos cursor = new BlockPos.MutableBlockPos();
+		LongIterator moveable = moveableBlocks.iterator();
+		outer: while(moveable.hasNext()) {
+			long blockPos = moveable.nextLong();
+			long pushToPos = BlockPos.offset(blockPos, dx, dy, dz);
 			if(immovableBlocks.contains(pushToPos) || immovableBlocks.contains(blockPos)) {
 				continue;
 			}
 			if(moveableBlocks.contains(pushToPos)) {
-				BlockPos nextPos = pushToPos;
+				long nextPos = pushToPos;
 				while(moveableBlocks.contains(nextPos)) {
-					BlockPos nextPosPushPos = nextPos.offset((int) directNorm.x, (int) directNorm.y, (int) directNorm.z);
-					BlockState nextPosPushPosState = world.getBlockState(nextPosPushPos);
+					long nextPosPushPos = BlockPos.offset(nextPos, dx, dy, dz);
 
 					if(moveableBlocks.contains(nextPosPushPos)) {
 						nextPos = nextPosPushPos;
 						continue;
 					}
 
-					if(immovableBlocks.contains(nextPosPushPos) || !(world.isEmptyBlock(nextPosPushPos) || nextPosPushPosState.canBeReplaced())) {
+					BlockState nextPosPushPosState = world.getBlockState(cursor.set(nextPosPushPos));
+					if(immovableBlocks.contains(nextPosPushPos) || !(nextPosPushPosState.isAir() || nextPosPushPosState.canBeReplaced())) {
 						continue outer;
 					}
 					break;
 				}
-			} else if(!(world.isEmptyBlock(pushToPos) || pushToState.canBeReplaced())) {
-				continue;
+			} else {
+				BlockState pushToState = world.getBlockState(cursor.set(pushToPos));
+				if(!(pushToState.isAir() || pushToState.canBeReplaced())) {
+					continue;
+				}
 			}
+			BlockState state = world.getBlockState(cursor.set(blockPos));
 			toRemove.put(blockPos, state);
 			toSet.put(pushToPos, state);
 		}
 
 		// 原子性批量方块移动操作，防止复制漏洞
 		// 先验证所有源方块状态是否与预期一致
-		for(Map.Entry<BlockPos, BlockState> entry : toRemove.entrySet()) {
-			BlockPos pos = entry.getKey();
+		for(Long2ObjectMap.Entry<BlockState> entry : Long2ObjectMaps.fastIterable(toRemove)) {
 			BlockState expectedState = entry.getValue();
-			BlockState currentState = world.getBlockState(pos);
+			BlockState currentState = world.getBlockState(cursor.set(entry.getLongKey()));
 
 			if(!currentState.equals(expectedState)) {
 				// 状态不一致，可能是其他操作已修改，拒绝整个序列操作
@@ -183,16 +197,18 @@ public Object execute(SpellContext context) throws SpellRuntimeException {
 			}
 		}
 
-		// 先设置所有目标位置
-		for(Map.Entry<BlockPos, BlockState> pairToSet : toSet.entrySet()) {
-			world.setBlockAndUpdate(pairToSet.getKey(), pairToSet.getValue());
+		// Removals are queued before placements so that a block moving into a position vacated by the
+		// next block in the chain is not wiped out again.
+		BlockBatch batch = new BlockBatch(world);
+		for(Long2ObjectMap.Entry<BlockState> pairToRemove : Long2ObjectMaps.fastIterable(toRemove)) {
+			BlockPos pos = BlockPos.of(pairToRemove.getLongKey());
+			batch.remove(pos);
+			batch.breakEffect(pos, pairToRemove.getValue());
 		}
-
-		// 再移除所有源位置
-		for(Map.Entry<BlockPos, BlockState> pairtoRemove : toRemove.entrySet()) {
-			world.removeBlock(pairtoRemove.getKey(), false);
-			world.levelEvent(2001, pairtoRemove.getKey(), Block.getId(pairtoRemove.getValue()));
+		for(Long2ObjectMap.Entry<BlockState> pairToSet : Long2ObjectMaps.fastIterable(toSet)) {
+			batch.set(BlockPos.of(pairToSet.getLongKey()), pairToSet.getValue());
 		}
+		batch.apply();
 
 		return null;
 	}
@@ -72,8 +72,10 @@ public Object execute(SpellContext context) throws SpellRuntimeException {
 		}
 		Vector3 targetNorm = targetVal.copy().normalize();
 
-		for(BlockPos blockPos : MathHelper.getBlocksAlongRay(positionVal.toVec3D(), positionVal.copy().add(targetNorm.copy().multiply(maxBlocksInt)).toVec3D(), maxBlocksInt)) {
-			if(!context.isInRadius(Vector3.fromBlockPos(blockPos))) {
+		MathHelper.BlockRayCursor ray = MathHelper.traceBlocksAlongRay(positionVal.toVec3D(), positionVal.copy().add(targetNorm.copy().multiply(maxBlocksInt)).toVec3D(), maxBlocksInt);
+		while(ray.next()) {
+			BlockPos blockPos = ray.pos().immutable();
+			if(!context.isInRadius(blockPos.getX(), blockPos.getY(), blockPos.getZ())) {
 				throw new SpellRuntimeException(SpellRuntimeException.OUTSIDE_RADIUS);
 			}
 
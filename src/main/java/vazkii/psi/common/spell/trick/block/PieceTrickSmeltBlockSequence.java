@@ -11,6 +11,7 @@
 import net.minecraft.core.BlockPos;
 import net.minecraft.world.item.Item;
 import net.minecraft.world.item.ItemStack;
+import net.minecraft.world.level.Level;
 import net.minecraft.world.level.block.Block;
 import net.minecraft.world.level.block.Blocks;
 import net.minecraft.world.level.block.state.BlockState;
@@ -73,33 +74,40 @@ public Object execute(SpellContext context) throws SpellRuntimeException {
 		}
 
 		Vector3 targetNorm = targetVal.copy().normalize();
-		for(BlockPos blockPos : MathHelper.getBlocksAlongRay(positionVal.toVec3D(), positionVal.copy().add(targetNorm.copy().multiply(maxBlocksInt)).toVec3D(), maxBlocksInt)) {
-			if(!context.isInRadius(Vector3.fromBlockPos(blockPos))) {
-				throw new SpellRuntimeException(SpellRuntimeException.OUTSIDE_RADIUS);
-			}
+		Level world = context.focalPoint.getCommandSenderWorld();
+		BlockBatch batch = new BlockBatch(world);
+		try {
+			MathHelper.BlockRayCursor ray = MathHelper.traceBlocksAlongRay(positionVal.toVec3D(), positionVal.copy().add(targetNorm.copy().multiply(maxBlocksInt)).toVec3D(), maxBlocksInt);
+			while(ray.next()) {
+				BlockPos blockPos = ray.pos().immutable();
+				if(!context.isInRadius(blockPos.getX(), blockPos.getY(), blockPos.getZ())) {
+					throw new SpellRuntimeException(SpellRuntimeException.OUTSIDE_RADIUS);
+				}
 
-			if(!context.focalPoint.getCommandSenderWorld().mayInteract(context.caster, blockPos)) {
-				return null;
-			}
+				if(!world.mayInteract(context.caster, blockPos)) {
+					return null;
+				}
 
-			BlockState state = context.focalPoint.getCommandSenderWorld().getBlockState(blockPos);
-			Block block = state.getBlock();
-			ItemStack stack = new ItemStack(block);
-			BlockEvent.BreakEvent event = PieceTrickBreakBlock.createBreakEvent(state, context.caster, context.focalPoint.level(), blockPos, tool);
-			NeoForge.EVENT_BUS.post(event);
-			if(event.isCanceled()) {
-				return null;
-			}
-			ItemStack result = PieceSelectorNearbySmeltables.simulateSmelt(context.focalPoint.getCommandSenderWorld(), stack);
-			if(!result.isEmpty()) {
-				Item item = result.getItem();
-				Block block1 = Block.byItem(item);
-				if(block1 != Blocks.AIR) {
-					context.focalPoint.getCommandSenderWorld().setBlockAndUpdate(blockPos, block1.defaultBlockState());
-					context.focalPoint.getCommandSenderWorld().levelEvent(2001, blockPos, Block.getId(block1.defaultBlockState()));
+				BlockState state = world.getBlockState(blockPos);
+				Block block = state.getBlock();
+				ItemStack stack = new ItemStack(block);
+				BlockEvent.BreakEvent event = PieceTrickBreakBlock.createBreakEvent(state, context.caster, world, blockPos, tool);
+				NeoForge.EVENT_BUS.post(event);
+				if(event.isCanceled()) {
+					return null;
+				}
+				ItemStack result = PieceSelectorNearbySmeltables.simulateSmelt(world, stack);
+				if(!result.isEmpty()) {
+					Item item = result.getItem();
+					Block block1 = Block.byItem(item);
+					if(block1 != Blocks.AIR) {
+						batch.set(blockPos, block1.defaultBlockState());
+						batch.breakEffect(blockPos, block1.defaultBlockState());
+					}
 				}
 			}
-
+		} finally {
+			batch.apply();
 		}
 
 		return null;
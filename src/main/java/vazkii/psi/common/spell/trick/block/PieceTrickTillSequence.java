@@ -54,8 +54,9 @@ public Object execute(SpellContext context) throws SpellRuntimeException {
 
 		Vector3 targetNorm = targetVal.copy().normalize();
 
-		for(BlockPos blockPos : MathHelper.getBlocksAlongRay(positionVal.toVec3D(), positionVal.copy().add(targetNorm.copy().multiply(maxBlocksInt)).toVec3D(), maxBlocksInt)) {
-
+		MathHelper.BlockRayCursor ray = MathHelper.traceBlocksAlongRay(positionVal.toVec3D(), positionVal.copy().add(targetNorm.copy().multiply(maxBlocksInt)).toVec3D(), maxBlocksInt);
+		while(ray.next()) {
+			BlockPos blockPos = ray.pos().immutable();
 			if(SpellHelpers.isBlockPosInRadius(context, blockPos)) {
 				PieceTrickTill.tillBlock(context.caster, context.focalPoint.level(), blockPos);
 			}
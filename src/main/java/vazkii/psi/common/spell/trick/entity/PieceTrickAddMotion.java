@@ -33,13 +33,26 @@ public PieceTrickAddMotion(Spell spell) {
 	}
 
 	public static void addMotion(SpellContext context, Entity e, Vector3 dir, double speed) throws SpellRuntimeException {
+		addScaledMotion(context, e, scaleMotion(dir, speed));
+	}
+
+	/**
+	 * @return the motion a direction and speed add to an entity, to be passed to {@link #addScaledMotion}
+	 */
+	public static Vector3 scaleMotion(Vector3 dir, double speed) {
+		return dir.copy().normalize().multiply(MULTIPLIER * speed);
+	}
+
+	/**
+	 * Adds motion that was already scaled by {@link #scaleMotion}, so tricks pushing many entities the same way
+	 * only normalize the direction once.
+	 */
+	public static void addScaledMotion(SpellContext context, Entity e, Vector3 dir) throws SpellRuntimeException {
 		context.verifyEntity(e);
 		if(!context.isInRadius(e)) {
 			throw new SpellRuntimeException(SpellRuntimeException.OUTSIDE_RADIUS);
 		}
 
-		dir = dir.copy().normalize().multiply(MULTIPLIER * speed);
-
 		if(Math.abs(dir.y) > 0.0001) {
 			if(e.getDeltaMovement().y() + dir.y >= 0) {
 				e.fallDistance = 0;
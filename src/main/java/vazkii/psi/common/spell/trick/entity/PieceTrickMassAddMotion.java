@@ -56,8 +56,9 @@ public Object execute(SpellContext context) throws SpellRuntimeException {
 		Vector3 directionVal = this.getParamValue(context, direction);
 		double speedVal = this.getParamValue(context, speed).doubleValue();
 
+		Vector3 motion = PieceTrickAddMotion.scaleMotion(directionVal, speedVal);
 		for(Entity e : targetVal) {
-			PieceTrickAddMotion.addMotion(context, e, directionVal, speedVal);
+			PieceTrickAddMotion.addScaledMotion(context, e, motion);
 		}
 
 		return null;